@@ -0,0 +1,377 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.benchmark;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import dev.johnlester.seraphim.utils.effect.DamageTracker;
+
+/**
+ * Headless paint benchmark for the custom components. Every
+ * {@link PaintScenario} is rendered into a {@link BufferedImage} across a
+ * simulated animation timeline in each {@link Mode}, and the time,
+ * allocations and pixels per frame are reported.
+ * 
+ * Run with {@code gradle paintBenchmark}. Arguments:
+ * <ul>
+ * <li>--iterations=N: Number of measured passes over the timeline (default 20)</li>
+ * <li>--frames=N: Number of frames in the simulated timeline (default 120)</li>
+ * <li>--out=PATH: Also write the results as CSV to PATH</li>
+ * </ul>
+ * 
+ * @author JohnLesterDev
+ */
+public final class PaintBenchmark {
+    /**
+     * Enumerates how a frame is rendered
+     * 
+     * <ul>
+     * <li>LIVE: The whole component is painted on every frame</li>
+     * <li>DAMAGE: Only the region reported by the DamageTracker components is painted</li>
+     * <li>CACHED: The static parts are painted once and blitted, only animated components are painted</li>
+     * </ul>
+     */
+    public enum Mode {
+        LIVE, DAMAGE, CACHED
+    }
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private final int frames;
+    private final int iterations;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean allocationsSupported;
+
+    // Reused between frames so the harness itself stays out of the allocation counts.
+    private final Rectangle damage = new Rectangle();
+    private final Rectangle frameDamage = new Rectangle();
+    private final List<JComponent> animated = new ArrayList<>();
+
+    public static final class Result {
+        public final String scenario;
+        public final Mode mode;
+        public final double nanosPerFrame;
+        public final double bytesPerFrame;
+        public final double pixelsPerFrame;
+
+        Result(String scenario, Mode mode, double nanosPerFrame, double bytesPerFrame, double pixelsPerFrame) {
+            this.scenario = scenario;
+            this.mode = mode;
+            this.nanosPerFrame = nanosPerFrame;
+            this.bytesPerFrame = bytesPerFrame;
+            this.pixelsPerFrame = pixelsPerFrame;
+        }
+
+        /**
+         * Returns the painted pixels per second in megapixels.
+         * 
+         * @return the pixel throughput
+         */
+        public double getMegapixelsPerSecond() {
+            return nanosPerFrame == 0 ? 0 : pixelsPerFrame / nanosPerFrame * 1_000;
+        }
+    }
+
+    public PaintBenchmark(int frames, int iterations) {
+        this.frames = Math.max(2, frames);
+        this.iterations = Math.max(1, iterations);
+        this.allocationsSupported = threads instanceof com.sun.management.ThreadMXBean;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        int frames = 120;
+        int iterations = 20;
+        Path out = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--frames=")) {
+                frames = Integer.parseInt(arg.substring("--frames=".length()));
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        PaintBenchmark benchmark = new PaintBenchmark(frames, iterations);
+        List<Result> results = new ArrayList<>();
+
+        // Swing components are built and painted on the EDT, even headless.
+        SwingUtilities.invokeAndWait(() -> {
+            for (PaintScenario scenario : PaintScenario.all()) {
+                for (Mode mode : Mode.values()) {
+                    results.add(benchmark.run(scenario, mode));
+                }
+            }
+        });
+
+        System.out.println(String.format("%-28s %-8s %12s %14s %14s %12s",
+            "scenario", "mode", "ns/frame", "bytes/frame", "pixels/frame", "Mpx/s"));
+        for (Result result : results) {
+            System.out.println(String.format("%-28s %-8s %12.0f %14.1f %14.0f %12.1f",
+                result.scenario, result.mode, result.nanosPerFrame, result.bytesPerFrame,
+                result.pixelsPerFrame, result.getMegapixelsPerSecond()));
+        }
+
+        if (out != null) {
+            writeCsv(results, out);
+        }
+    }
+
+    /**
+     * Renders the scenario across the simulated timeline in the given mode.
+     * 
+     * @param scenario The scenario to render.
+     * @param mode How the frames are rendered.
+     * @return the measured costs
+     */
+    public Result run(PaintScenario scenario, Mode mode) {
+        JComponent component = scenario.create();
+        int width = Math.max(1, component.getWidth());
+        int height = Math.max(1, component.getHeight());
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+
+        animated.clear();
+        collectAnimated(component, animated);
+
+        BufferedImage cache = null;
+        if (mode == Mode.CACHED) {
+            cache = renderStaticCache(component, width, height);
+        }
+
+        // Prime the damage tracking so the first measured frame has a previous frame.
+        scenario.seek(component, 0f);
+        collectFrameDamage(component);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            renderTimeline(scenario, component, mode, g, cache, width, height);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long startBytes = allocatedBytes(thread);
+        long startNanos = System.nanoTime();
+        long pixels = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            pixels += renderTimeline(scenario, component, mode, g, cache, width, height);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long bytes = allocatedBytes(thread) - startBytes;
+        g.dispose();
+
+        double frameCount = (double) frames * iterations;
+        return new Result(
+            scenario.getName(),
+            mode,
+            elapsedNanos / frameCount,
+            allocationsSupported ? bytes / frameCount : -1,
+            pixels / frameCount
+        );
+    }
+
+    /**
+     * Renders one pass over the timeline, forward then back.
+     * 
+     * @return the number of pixels painted
+     */
+    private long renderTimeline(PaintScenario scenario, JComponent component, Mode mode,
+            Graphics2D g, BufferedImage cache, int width, int height) {
+        long pixels = 0;
+
+        for (int frame = 0; frame < frames; frame++) {
+            float position = frame / (float) (frames - 1) * 2f;
+            scenario.seek(component, position <= 1f ? position : 2f - position);
+
+            switch (mode) {
+                case LIVE:
+                    component.paint(g);
+                    pixels += (long) width * height;
+                    break;
+                case DAMAGE:
+                    if (collectFrameDamage(component)) {
+                        if (!frameDamage.isEmpty()) {
+                            g.setClip(frameDamage.x, frameDamage.y, frameDamage.width, frameDamage.height);
+                            component.paint(g);
+                            g.setClip(null);
+                            pixels += (long) frameDamage.width * frameDamage.height;
+                        }
+                    } else {
+                        component.paint(g);
+                        pixels += (long) width * height;
+                    }
+                    break;
+                case CACHED:
+                    g.drawImage(cache, 0, 0, null);
+                    pixels += (long) width * height;
+                    pixels += paintAnimated(component, g);
+                    break;
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Writes the union of the damage of every animated component, in the
+     * coordinates of the root, into frameDamage.
+     * 
+     * @return false if some component could not report its damage
+     */
+    private boolean collectFrameDamage(JComponent root) {
+        frameDamage.setBounds(0, 0, 0, 0);
+        boolean known = true;
+
+        for (int i = 0; i < animated.size(); i++) {
+            JComponent component = animated.get(i);
+            damage.setBounds(0, 0, 0, 0);
+
+            if (!((DamageTracker) component).collectDamage(damage)) {
+                known = false;
+                continue;
+            }
+            if (damage.isEmpty()) {
+                continue;
+            }
+
+            for (Component c = component; c != root && c != null; c = c.getParent()) {
+                damage.x += c.getX();
+                damage.y += c.getY();
+            }
+
+            if (frameDamage.isEmpty()) {
+                frameDamage.setBounds(damage);
+            } else {
+                frameDamage.add(damage);
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Paints every animated component on top of the cached background.
+     * 
+     * @return the number of pixels painted
+     */
+    private long paintAnimated(JComponent root, Graphics2D g) {
+        long pixels = 0;
+
+        for (int i = 0; i < animated.size(); i++) {
+            JComponent component = animated.get(i);
+            if (component == root) {
+                component.paint(g);
+                pixels += (long) component.getWidth() * component.getHeight();
+                continue;
+            }
+
+            int x = 0;
+            int y = 0;
+            for (Component c = component; c != root && c != null; c = c.getParent()) {
+                x += c.getX();
+                y += c.getY();
+            }
+
+            g.translate(x, y);
+            g.clipRect(0, 0, component.getWidth(), component.getHeight());
+            component.paint(g);
+            g.setClip(null);
+            g.translate(-x, -y);
+            pixels += (long) component.getWidth() * component.getHeight();
+        }
+        return pixels;
+    }
+
+    /**
+     * Paints everything except the animated components into a new image.
+     */
+    private BufferedImage renderStaticCache(JComponent component, int width, int height) {
+        BufferedImage cache = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        for (JComponent child : animated) {
+            child.setVisible(false);
+        }
+
+        Graphics2D g = cache.createGraphics();
+        if (!animated.contains(component)) {
+            component.paint(g);
+        }
+        g.dispose();
+
+        for (JComponent child : animated) {
+            child.setVisible(true);
+        }
+        return cache;
+    }
+
+    private static void collectAnimated(Component component, List<JComponent> result) {
+        if (component instanceof DamageTracker && component instanceof JComponent jComponent) {
+            result.add(jComponent);
+        }
+
+        if (component instanceof Container container) {
+            for (int i = 0; i < container.getComponentCount(); i++) {
+                collectAnimated(container.getComponent(i), result);
+            }
+        }
+    }
+
+    private long allocatedBytes(long thread) {
+        if (!allocationsSupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(thread);
+    }
+
+    private static void writeCsv(List<Result> results, Path out) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            writer.println("scenario,mode,ns_per_frame,bytes_per_frame,pixels_per_frame,megapixels_per_second");
+            for (Result result : results) {
+                writer.println(String.format("%s,%s,%.0f,%.1f,%.0f,%.1f",
+                    result.scenario, result.mode, result.nanosPerFrame, result.bytesPerFrame,
+                    result.pixelsPerFrame, result.getMegapixelsPerSecond()));
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.benchmark;
+
+import java.awt.Container;
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.ResourceUtils;
+import dev.johnlester.seraphim.utils.effect.EffectManager;
+import dev.johnlester.seraphim.utils.ui.components.SLabel;
+import dev.johnlester.seraphim.views.AuthenticationView;
+
+/**
+ * A component rendered by the {@link PaintBenchmark}, together with the
+ * animation timeline that is simulated while rendering it.
+ * 
+ * New components are benchmarked by adding a scenario to {@link #all()}.
+ * 
+ * @author JohnLesterDev
+ */
+public abstract class PaintScenario {
+    private final String name;
+
+    protected PaintScenario(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Builds the component, sized and laid out, ready to be painted.
+     * 
+     * @return the component to render
+     */
+    public abstract JComponent create();
+
+    /**
+     * Moves the animations of the component to the given point of the
+     * simulated timeline.
+     * 
+     * @param component The component returned by {@link #create()}.
+     * @param progress The position in the timeline between 0 and 1.
+     */
+    public abstract void seek(JComponent component, float progress);
+
+    /**
+     * Returns every scenario of the suite.
+     * 
+     * @return the scenarios
+     */
+    public static List<PaintScenario> all() {
+        List<PaintScenario> scenarios = new ArrayList<>();
+        scenarios.add(new SLabelHover());
+        scenarios.add(new AuthenticationViewHover());
+        return scenarios;
+    }
+
+    /**
+     * Hovering the close button: crossfade and rotation.
+     */
+    static class SLabelHover extends PaintScenario {
+        SLabelHover() {
+            super("SLabel hover");
+        }
+
+        @Override
+        public JComponent create() {
+            Image outlineIcon = new ImageIcon(ResourceUtils.getResourceFile("icons/ui/buttons/X/outline.png")).getImage();
+            Image solidIcon = new ImageIcon(ResourceUtils.getResourceFile("icons/ui/buttons/X/solid.png")).getImage();
+
+            SLabel label = new SLabel(outlineIcon, solidIcon);
+            label.setHoverAnimation(850, 90f, EffectManager.cubicBezier(0.21f, 0.29f, 0.0f, 1.0f));
+            label.setSize(label.getPreferredSize());
+            return label;
+        }
+
+        @Override
+        public void seek(JComponent component, float progress) {
+            ((SLabel) component).seekHover(progress);
+        }
+    }
+
+    /**
+     * The whole login view while its close button is hovered.
+     */
+    static class AuthenticationViewHover extends PaintScenario {
+        AuthenticationViewHover() {
+            super("AuthenticationView hover");
+        }
+
+        @Override
+        public JComponent create() {
+            AuthenticationView view = new AuthenticationView(null);
+            view.setSize(view.getPreferredSize());
+            view.doLayout();
+            return view;
+        }
+
+        @Override
+        public void seek(JComponent component, float progress) {
+            seekLabels(component, progress);
+        }
+
+        private static void seekLabels(Container container, float progress) {
+            for (int i = 0; i < container.getComponentCount(); i++) {
+                if (container.getComponent(i) instanceof SLabel label) {
+                    label.seekHover(progress);
+                } else if (container.getComponent(i) instanceof Container child) {
+                    seekLabels(child, progress);
+                }
+            }
+        }
+    }
+}
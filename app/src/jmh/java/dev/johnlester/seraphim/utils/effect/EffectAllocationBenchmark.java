@@ -0,0 +1,165 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JPanel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the per-frame cost of the effect types. Run with the GC profiler
+ * ({@code gradle jmh}) and check that {@code gc.alloc.rate.norm} stays at
+ * zero for the primitive and in-place effects.
+ * 
+ * @author JohnLesterDev
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EffectAllocationBenchmark {
+    /**
+     * The effect duration. Every operation advances the simulated clock by
+     * a whole frame, so even this is only about 1.3e8 frames: the effects
+     * are restarted before they finish, see {@link #nextFrame()}.
+     */
+    private static final int DURATION = Integer.MAX_VALUE;
+    private static final long DURATION_NANOS = DURATION * 1_000_000L;
+
+    private long frameTimeNanos;
+    private long frameIntervalNanos;
+    private long restartNanos;
+
+    private float floatSink;
+    private int intSink;
+    private Object objectSink;
+
+    private FloatEffect floatEffect;
+    private IntEffect intEffect;
+    private ColorEffect argbEffect;
+    private ColorEffect colorEffect;
+    private InPlaceEffect<Point> pointEffect;
+    private EffectManager<Float> boxedFloatEffect;
+    private EffectManager<Color> boxedColorEffect;
+
+    @Setup
+    public void setup() {
+        JPanel component = new JPanel();
+        EffectManager.EasingFunction easing = EffectManager.cubicBezier(0.21f, 0.29f, 0.0f, 1.0f);
+
+        floatEffect = new FloatEffect(component, "float", 0f, 90f, DURATION, v -> floatSink = v, easing, 0);
+        intEffect = new IntEffect(component, "int", 0, 255, DURATION, v -> intSink = v, easing, 0);
+        argbEffect = new ColorEffect(component, "argb", 0xFF000000, 0xFFFFFFFF, DURATION, v -> intSink = v, easing, 0);
+        colorEffect = new ColorEffect(component, "color", Color.BLACK, Color.WHITE, DURATION, v -> objectSink = v, easing, 0);
+        pointEffect = new InPlaceEffect<>(component, "point", new Point(0, 0), new Point(100, 100), new Point(),
+            DURATION, InPlaceEffect.POINT, v -> objectSink = v, easing, 0);
+        boxedFloatEffect = new EffectManager<>(component, "boxedFloat", 0f, 90f, DURATION,
+            EffectManager.FLOAT_INTERPOLATOR, v -> objectSink = v, easing, 0);
+        boxedColorEffect = new EffectManager<>(component, "boxedColor", Color.BLACK, Color.WHITE, DURATION,
+            EffectManager.COLOR_INTERPOLATOR, v -> objectSink = v, easing, 0);
+
+        frameTimeNanos = 0;
+        frameIntervalNanos = AnimationScheduler.toFrameIntervalNanos(0);
+        restart();
+    }
+
+    /**
+     * Starts every effect at the current frame, so the following frames
+     * interpolate instead of measuring the finished path.
+     */
+    private void restart() {
+        floatEffect.start(frameTimeNanos);
+        intEffect.start(frameTimeNanos);
+        argbEffect.start(frameTimeNanos);
+        colorEffect.start(frameTimeNanos);
+        pointEffect.start(frameTimeNanos);
+        boxedFloatEffect.start(frameTimeNanos);
+        boxedColorEffect.start(frameTimeNanos);
+        restartNanos = frameTimeNanos + DURATION_NANOS - frameIntervalNanos;
+    }
+
+    private long nextFrame() {
+        frameTimeNanos += frameIntervalNanos;
+        if (frameTimeNanos >= restartNanos) {
+            frameTimeNanos -= frameIntervalNanos;
+            restart();
+            frameTimeNanos += frameIntervalNanos;
+        }
+        return frameTimeNanos;
+    }
+
+    @Benchmark
+    public boolean floatEffect() {
+        return floatEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean intEffect() {
+        return intEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean argbColorEffect() {
+        return argbEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean paletteColorEffect() {
+        return colorEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean inPlacePointEffect() {
+        return pointEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean boxedFloatEffect() {
+        return boxedFloatEffect.tick(nextFrame());
+    }
+
+    @Benchmark
+    public boolean boxedColorEffect() {
+        return boxedColorEffect.tick(nextFrame());
+    }
+
+    public float getFloatSink() {
+        return floatSink;
+    }
+
+    public int getIntSink() {
+        return intSink;
+    }
+
+    public Object getObjectSink() {
+        return objectSink;
+    }
+}
@@ -19,15 +19,33 @@
 
 package dev.johnlester.seraphim;
 
+import java.awt.Frame;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.swing.JFrame;
+import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
+import dev.johnlester.seraphim.controllers.PasswordManagerController;
 import dev.johnlester.seraphim.controllers.ViewManager;
+import dev.johnlester.seraphim.models.AuthenticationModel;
+import dev.johnlester.seraphim.models.SQLHelper;
 import dev.johnlester.seraphim.utils.ConfigUtils;
+import dev.johnlester.seraphim.utils.MonitorUtils;
+import dev.johnlester.seraphim.utils.SingleInstance;
+import dev.johnlester.seraphim.utils.StartupPipeline;
+import dev.johnlester.seraphim.utils.debug.JankOverlay;
 import dev.johnlester.seraphim.views.AuthenticationView;
+import dev.johnlester.seraphim.views.VaultListView;
  
 /**
  * Main class for the Seraphim application.
@@ -35,33 +53,212 @@ import dev.johnlester.seraphim.views.AuthenticationView;
  * @author JohnLesterDev
  */
 public class App {
+    /**
+     * The key of the login view in the ViewManager.
+     */
+    public static final String AUTHENTICATION_VIEW = "authentication";
+
+    /**
+     * The key of the credential list in the ViewManager.
+     */
+    public static final String VAULT_VIEW = "vault";
+
+    /**
+     * Printed to stdout once the first window is shown when the application
+     * runs with {@code --exit-after-startup}. The startup benchmark measures
+     * the time until this line appears.
+     */
+    public static final String FIRST_FRAME_MARKER = "seraphim:first-frame";
+
+    private static boolean exitAfterStartup;
+
+    /**
+     * The window, set on the EDT once it is assembled.
+     */
+    private static JFrame mainFrame;
+
     /**
      * Main method for the application.
      * 
-     * @param args command line arguments
+     * Startup runs as a pipeline: configuration, AWT, icon decoding and the
+     * database (sqlite native library and schema check) load concurrently,
+     * and only the window assembly runs on the EDT. The database is not
+     * needed to show the login window, so it may finish after it.
+     * 
+     * Only one instance runs per user. A second launch hands its arguments
+     * to the running instance, which brings its window to the front, and
+     * exits before any of the startup phases.
+     * 
+     * @param args command line arguments, {@code --startup-trace} prints the
+     *             duration of every startup phase, {@code --exit-after-startup}
+     *             exits once every phase is done (the training run of the
+     *             class-data-sharing archive and the startup benchmark)
      */
     public static void main(String[] args) {
+        boolean startupTrace = Arrays.asList(args).contains("--startup-trace");
+        exitAfterStartup = Arrays.asList(args).contains("--exit-after-startup");
+
+        // The training run and the startup benchmark measure a cold start,
+        // they must not hand over to an instance that is already running.
+        if (!exitAfterStartup && !becomeRunningInstance(args)) {
+            return;
+        }
+
+        StartupPipeline pipeline = new StartupPipeline()
+            .phase("config", ConfigUtils::init)
+            .phase("awt", App::initAwt)
+            .phase("icons", AuthenticationView::preloadResources)
+            .phase("database", App::initDatabase)
+            .edtPhase("assemble", App::showWindow, "config", "awt", "icons");
+
+        pipeline.start().whenComplete((ignored, failure) -> {
+            if (startupTrace) {
+                pipeline.printTrace(System.err);
+            }
+            if (exitAfterStartup) {
+                System.exit(failure == null ? 0 : 1);
+            }
+        });
+    }
+
+    /**
+     * Takes the single-instance lock, or forwards the arguments to the
+     * instance holding it.
+     * 
+     * @return true if this process should start, false if it should exit
+     */
+    private static boolean becomeRunningInstance(String[] args) {
+        Path dataDirectory = Path.of(System.getProperty("user.home"), ".local", "share", "seraphim");
+        try {
+            return SingleInstance.acquire(dataDirectory, args, App::activate);
+        } catch (IOException e) {
+            System.err.println("Seraphim is already running but cannot be activated: " + e.getMessage());
+            System.exit(1);
+            return false;
+        }
+    }
+
+    /**
+     * Brings the window to the front when Seraphim is launched again. The
+     * arguments of that launch are accepted for future options; none of the
+     * current ones apply to a running instance.
+     * 
+     * @param args the arguments of the later launch
+     */
+    private static void activate(List<String> args) {
         SwingUtilities.invokeLater(() -> {
-            JFrame frame = new JFrame(ConfigUtils.get("title"));
-            frame.addWindowListener(new WindowAdapter() {
-                @Override
-                public void windowClosing(WindowEvent windowEvent) {
-                    beforeExit();
-                    System.exit(0);
-                }
-            });
-            
-            frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
-            ViewManager.init(frame);
-
-            AuthenticationView authenticationView = new AuthenticationView(frame);
-            ViewManager.switchTo(authenticationView,
-                frame.getTitle() + " - Login",
-                ConfigUtils.getInt("defaultMonitorIndex", 0)
-                );
+            JFrame frame = mainFrame;
+            if (frame == null) {
+                // Still starting, the window is shown when assembled.
+                return;
+            }
 
+            if ((frame.getExtendedState() & Frame.ICONIFIED) != 0) {
+                frame.setExtendedState(frame.getExtendedState() & ~Frame.ICONIFIED);
+            }
             frame.setVisible(true);
+            // Window managers ignore toFront() for windows of a background
+            // process; briefly being always on top raises it anyway.
+            frame.setAlwaysOnTop(true);
+            frame.toFront();
+            frame.setAlwaysOnTop(false);
+            frame.requestFocus();
+        });
+    }
+
+    /**
+     * Loads the graphics environment and the default toolkit, which the first
+     * Swing component would otherwise load on the EDT.
+     */
+    private static void initAwt() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+        }
+        Toolkit.getDefaultToolkit();
+    }
+
+    /**
+     * Loads the sqlite driver and its native library, and upgrades the
+     * database schema if it is older than this build.
+     */
+    private static void initDatabase() {
+        SQLHelper.initialize();
+        AuthenticationModel.getInstance();
+    }
+
+    private static void showWindow() {
+        if (exitAfterStartup && GraphicsEnvironment.isHeadless()) {
+            renderOffscreen();
+            return;
+        }
+
+        JFrame frame = new JFrame(ConfigUtils.get("title"));
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                beforeExit();
+                System.exit(0);
+            }
         });
+        
+        frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        ViewManager.init(frame);
+        JankOverlay.install(frame);
+
+        ViewManager.register(AUTHENTICATION_VIEW, new ViewManager.ViewFactory() {
+            @Override
+            public JPanel create(JFrame frame) {
+                AuthenticationView view = new AuthenticationView(frame);
+                new PasswordManagerController(view);
+                return view;
+            }
+
+            @Override
+            public void preload() {
+                AuthenticationView.preloadResources();
+            }
+        });
+
+        ViewManager.register(VAULT_VIEW, VaultListView::new);
+
+        ViewManager.switchTo(AUTHENTICATION_VIEW,
+            frame.getTitle() + " - Login",
+            ConfigUtils.getInt("defaultMonitorIndex", MonitorUtils.getDefaultMonitorIndex())
+            );
+
+        frame.setVisible(true);
+        mainFrame = frame;
+        markFirstFrame();
+    }
+
+    /**
+     * Builds and paints the login view into an image, so a training run
+     * without a display still loads the Swing classes of the first frame.
+     */
+    private static void renderOffscreen() {
+        AuthenticationView view = new AuthenticationView(null);
+        view.setSize(view.getPreferredSize());
+        view.doLayout();
+
+        BufferedImage image = new BufferedImage(
+            Math.max(1, view.getWidth()),
+            Math.max(1, view.getHeight()),
+            BufferedImage.TYPE_INT_ARGB
+            );
+        Graphics2D g2d = image.createGraphics();
+        try {
+            view.paint(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        markFirstFrame();
+    }
+
+    private static void markFirstFrame() {
+        if (exitAfterStartup) {
+            System.out.println(FIRST_FRAME_MARKER);
+            System.out.flush();
+        }
     }
 
     public static void beforeExit() {
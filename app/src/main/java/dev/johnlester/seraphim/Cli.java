@@ -0,0 +1,681 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim;
+
+import java.io.BufferedReader;
+import java.io.Console;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+
+import dev.johnlester.seraphim.agent.AgentClient;
+import dev.johnlester.seraphim.agent.AgentProtocol;
+import dev.johnlester.seraphim.agent.UnlockAgent;
+import dev.johnlester.seraphim.models.AuthenticationModel;
+import dev.johnlester.seraphim.models.DecryptedEntry;
+import dev.johnlester.seraphim.models.QuickUnlock;
+import dev.johnlester.seraphim.models.SQLHelper;
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel;
+import dev.johnlester.seraphim.utils.ConfigUtils;
+import dev.johnlester.seraphim.utils.JsonUtils;
+import dev.johnlester.seraphim.utils.LoginThrottle;
+import dev.johnlester.seraphim.utils.SecretArena;
+
+/**
+ * Command line interface for querying the vault from scripts.
+ * 
+ * Every command prints JSON lines on stdout, one object per result, and
+ * errors as JSON lines on stderr. The master password is prompted for on a
+ * terminal, otherwise it is the first line of stdin.
+ * 
+ * When an {@link UnlockAgent} holds the vault of the user unlocked, get and
+ * list are answered by it without a password, the database or the key
+ * derivation.
+ * 
+ * This class must never load AWT or Swing: it is the fast path for a single
+ * lookup and has to work without a display. Only the models and the
+ * non-graphical utilities may be used from here.
+ * 
+ * @author JohnLesterDev
+ */
+public final class Cli {
+    /**
+     * The commands handled by this class. The launcher script starts the
+     * command line interface instead of the window when its first argument is
+     * one of them.
+     */
+    public static final List<String> COMMANDS = List.of(
+        "auth", "get", "list", "export", "add", "import", "agent", "unlock", "lock", "status");
+
+    private static final Set<String> FLAGS = Set.of("no-agent", "pin", "set-pin");
+
+    /**
+     * Wrong PINs in a row after which the agent requires the master password.
+     */
+    private static final int PIN_ATTEMPTS = 3;
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = String.join("\n",
+        "usage: seraphim <command> [options]",
+        "",
+        "  auth                       check the master password",
+        "  get <title>... [--field F] print entries and their passwords,",
+        "                             or only the field F (e.g. password)",
+        "  list                       print every entry without passwords",
+        "  export                     print every entry and its password",
+        "  add <title> [--username U] [--url URL] [--tags T] [--notes N]",
+        "                             store an entry, the password is read",
+        "                             after the master password",
+        "  import                     store JSON lines read after the master",
+        "                             password, each with a title and a password",
+        "  agent [--idle MINUTES] [--pin-timeout MINUTES]",
+        "                             keep the vault unlocked for get and list,",
+        "                             serving on a socket until interrupted; a PIN",
+        "                             reopens it until the PIN timeout",
+        "  unlock [--set-pin | --pin] unlock the vault in the agent, also setting",
+        "                             the PIN for later unlocks, or with the PIN",
+        "  lock                       lock the vault in the agent",
+        "  status                     print the state of the agent",
+        "",
+        "  --user NAME                vault owner, defaults to the remembered user",
+        "  --no-agent                 read the vault directly, even if unlocked",
+        "                             in the agent"
+        );
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Console console;
+    private final BufferedReader stdin;
+
+    private String command;
+    private final List<String> arguments = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    private Cli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.console = System.console();
+        this.stdin = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) {
+        Cli cli = new Cli(System.out, System.err);
+        int status = cli.run(args);
+        System.out.flush();
+        System.exit(status);
+    }
+
+    private int run(String[] args) {
+        try {
+            parse(args);
+        } catch (IllegalArgumentException e) {
+            error(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            SQLHelper.initialize();
+            return switch (command) {
+                case "auth" -> auth();
+                case "get" -> get();
+                case "list" -> list();
+                case "export" -> export();
+                case "add" -> add();
+                case "import" -> importEntries();
+                case "agent" -> agent();
+                case "unlock" -> unlockAgent();
+                case "lock" -> lockAgent();
+                case "status" -> agentStatus();
+                default -> throw new IllegalStateException("Unhandled command " + command);
+            };
+        } catch (CliException e) {
+            error(e.getMessage());
+            return e.status;
+        } catch (RuntimeException e) {
+            error(e.getMessage() != null ? e.getMessage() : e.toString());
+            return EXIT_FAILED;
+        }
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && FLAGS.contains(arg.substring(2))) {
+                options.put(arg.substring(2), "true");
+            } else if (arg.startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value of " + arg + ".");
+                }
+                options.put(arg.substring(2), args[++i]);
+            } else if (command == null) {
+                command = arg;
+            } else {
+                arguments.add(arg);
+            }
+        }
+
+        if (command == null) {
+            throw new IllegalArgumentException("No command given.");
+        }
+        if (!COMMANDS.contains(command)) {
+            throw new IllegalArgumentException("Unknown command " + command + ".");
+        }
+    }
+
+
+    private int auth() {
+        String username = username();
+        char[] password = readSecret("Master password: ");
+        try {
+            boolean authenticated = authenticate(username, password);
+            print(fields("user", username, "authenticated", authenticated));
+            return authenticated ? EXIT_OK : EXIT_FAILED;
+        } finally {
+            Arrays.fill(password, '\0');
+        }
+    }
+
+    private int get() {
+        if (arguments.isEmpty()) {
+            throw new CliException(EXIT_USAGE, "usage: seraphim get <title>...");
+        }
+        String field = options.get("field");
+        String username = username();
+
+        List<Map<String, Object>> found = null;
+        try (AgentClient agent = connectAgent()) {
+            if (agent != null) {
+                found = getFromAgent(agent, username);
+            }
+        } catch (IOException e) {
+            found = null;
+        }
+        if (found == null) {
+            found = getFromDatabase();
+        }
+
+        int status = EXIT_OK;
+        for (int i = 0; i < arguments.size(); i++) {
+            Map<String, Object> fields = found.get(i);
+            if (fields == null) {
+                error("No entry titled " + arguments.get(i) + ".");
+                status = EXIT_FAILED;
+            } else if (field == null) {
+                print(fields);
+            } else if (fields.containsKey(field)) {
+                Object value = fields.get(field);
+                out.println(value == null ? "" : value);
+            } else {
+                throw new CliException(EXIT_USAGE, "Unknown field " + field + ".");
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Looks up every title with pipelined requests.
+     *
+     * @return the fields of every title, null for titles that do not exist,
+     *         or null if the agent does not hold the vault of the user
+     */
+    private List<Map<String, Object>> getFromAgent(AgentClient agent, String username) throws IOException {
+        List<Map<String, Object>> found = new ArrayList<>();
+        for (AgentClient.Lookup lookup : agent.getAll(username, arguments)) {
+            if (lookup.status() == AgentProtocol.STATUS_LOCKED) {
+                return null;
+            }
+            if (lookup.status() != AgentProtocol.STATUS_OK) {
+                found.add(null);
+                continue;
+            }
+            Map<String, Object> fields = entryFields(lookup.entry());
+            fields.put("password", lookup.password());
+            found.add(fields);
+        }
+        return found;
+    }
+
+    private List<Map<String, Object>> getFromDatabase() {
+        Session session = unlock(true);
+        VaultEntryModel model = VaultEntryModel.getInstance();
+
+        List<Map<String, Object>> found = new ArrayList<>();
+        for (String title : arguments) {
+            VaultEntry entry = model.findByTitle(session.userId(), title);
+            if (entry == null) {
+                found.add(null);
+                continue;
+            }
+            Map<String, Object> fields = entryFields(entry);
+            fields.put("password", model.decryptSecret(session.userId(), entry, session.key()));
+            found.add(fields);
+        }
+        return found;
+    }
+
+    private int list() {
+        String username = username();
+        List<VaultEntry> entries = null;
+        try (AgentClient agent = connectAgent()) {
+            if (agent != null) {
+                entries = agent.list(username);
+            }
+        } catch (IOException e) {
+            entries = null;
+        }
+        if (entries == null) {
+            Session session = unlock(false);
+            entries = VaultEntryModel.getInstance().listEntries(session.userId());
+        }
+
+        for (VaultEntry entry : entries) {
+            print(entryFields(entry));
+        }
+        return EXIT_OK;
+    }
+
+    /**
+     * Prints the entries in id order while the rest of the vault is still
+     * being decrypted.
+     */
+    private int export() {
+        Session session = unlock(true);
+        VaultEntryModel.getInstance().decryptAll(session.userId(), session.key(), () -> false, batch -> {
+            for (DecryptedEntry decrypted : batch) {
+                try {
+                    Map<String, Object> fields = entryFields(decrypted.entry());
+                    fields.put("password", new String(decrypted.secret()));
+                    print(fields);
+                } finally {
+                    decrypted.wipe();
+                }
+            }
+        });
+        return EXIT_OK;
+    }
+
+    private int add() {
+        String title = singleArgument("add <title>");
+        Session session = unlock(true);
+
+        char[] secret = readSecret("Password of " + title + ": ");
+        try {
+            VaultEntry entry = VaultEntry.of(
+                title,
+                options.get("username"),
+                options.get("url"),
+                options.get("tags"),
+                options.get("notes")
+                );
+            long id = VaultEntryModel.getInstance().addEntry(session.userId(), entry, secret, session.key());
+            print(fields("id", id, "title", title));
+            return EXIT_OK;
+        } finally {
+            Arrays.fill(secret, '\0');
+        }
+    }
+
+    /**
+     * Reads every line before storing anything, so a malformed line leaves
+     * the vault unchanged.
+     */
+    private int importEntries() {
+        Session session = unlock(true);
+
+        List<VaultEntry> entries = new ArrayList<>();
+        List<String> secrets = new ArrayList<>();
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = stdin.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Map<String, String> fields;
+                try {
+                    fields = JsonUtils.parseObject(line);
+                } catch (IllegalArgumentException e) {
+                    throw new CliException(EXIT_USAGE, "Line " + lineNumber + ": " + e.getMessage());
+                }
+
+                String title = fields.get("title");
+                String password = fields.get("password");
+                if (title == null || title.isBlank() || password == null) {
+                    throw new CliException(EXIT_USAGE, "Line " + lineNumber + ": a title and a password are required.");
+                }
+
+                entries.add(VaultEntry.of(
+                    title,
+                    fields.get("username"),
+                    fields.get("url"),
+                    fields.get("tags"),
+                    fields.get("notes")
+                    ));
+                secrets.add(password);
+            }
+        } catch (IOException e) {
+            throw new CliException(EXIT_FAILED, "Error reading stdin: " + e.getMessage());
+        }
+
+        if (!entries.isEmpty()) {
+            VaultEntryModel.getInstance().addEntries(session.userId(), entries, secrets, session.key());
+        }
+        print(fields("imported", entries.size()));
+        return EXIT_OK;
+    }
+
+
+    /**
+     * Runs the agent in the foreground until the process is interrupted.
+     */
+    private int agent() {
+        int idleMinutes = minutesOption("idle", ConfigUtils.getInt("agentIdleMinutes", 15));
+        int pinTimeoutMinutes = minutesOption("pin-timeout", ConfigUtils.getInt("pinUnlockTimeoutMinutes", 60));
+        int pinIdleMinutes = ConfigUtils.getInt("pinUnlockIdleMinutes", 15);
+        QuickUnlock quickUnlock = new QuickUnlock(
+            Duration.ofMinutes(pinIdleMinutes),
+            Duration.ofMinutes(pinTimeoutMinutes),
+            PIN_ATTEMPTS
+            );
+
+        Path socketPath = AgentProtocol.defaultSocketPath();
+        try {
+            UnlockAgent agent = UnlockAgent.open(socketPath, Duration.ofMinutes(idleMinutes), quickUnlock);
+            Thread loop = Thread.currentThread();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                agent.close();
+                try {
+                    loop.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "seraphim-agent-shutdown"));
+
+            print(fields("agent", socketPath.toString(), "idleMinutes", idleMinutes,
+                "pinTimeoutMinutes", pinTimeoutMinutes));
+            out.flush();
+            agent.run();
+            return EXIT_OK;
+        } catch (IOException e) {
+            throw new CliException(EXIT_FAILED, "Agent stopped: " + e.getMessage());
+        }
+    }
+
+    private int unlockAgent() {
+        String username = username();
+        try (AgentClient agent = requireAgent()) {
+            if (options.containsKey("pin")) {
+                return unlockAgentWithPin(agent, username);
+            }
+
+            char[] password = readSecret("Master password: ");
+            char[] pin = options.containsKey("set-pin") ? readSecret("PIN: ") : null;
+            try {
+                AgentClient.Response response = agent.unlock(username, password, pin);
+                if (response.status() == AgentProtocol.STATUS_THROTTLED) {
+                    response.payload().get();
+                    long retryAfter = response.payload().getLong();
+                    print(fields("user", username, "unlocked", false, "retryAfterMillis", retryAfter));
+                    return EXIT_FAILED;
+                }
+                boolean unlocked = response.isOk();
+                boolean pinSet = unlocked && response.payload().get() != 0;
+                if (pin != null) {
+                    print(fields("user", username, "unlocked", unlocked, "pinSet", pinSet));
+                } else {
+                    print(fields("user", username, "unlocked", unlocked));
+                }
+                return unlocked && (pin == null || pinSet) ? EXIT_OK : EXIT_FAILED;
+            } finally {
+                Arrays.fill(password, '\0');
+                if (pin != null) {
+                    Arrays.fill(pin, '\0');
+                }
+            }
+        } catch (IOException e) {
+            throw new CliException(EXIT_FAILED, "Error talking to the agent: " + e.getMessage());
+        }
+    }
+
+    private int unlockAgentWithPin(AgentClient agent, String username) throws IOException {
+        char[] pin = readSecret("PIN: ");
+        try {
+            AgentClient.Response response = agent.unlockWithPin(username, pin);
+            switch (response.status()) {
+                case AgentProtocol.STATUS_OK -> {
+                    print(fields("user", username, "unlocked", true));
+                    return EXIT_OK;
+                }
+                case AgentProtocol.STATUS_DENIED -> {
+                    int remaining = response.payload().get();
+                    print(fields("user", username, "unlocked", false, "remainingAttempts", remaining));
+                    return EXIT_FAILED;
+                }
+                case AgentProtocol.STATUS_LOCKED -> {
+                    print(fields("user", username, "unlocked", false, "passwordRequired", true));
+                    return EXIT_FAILED;
+                }
+                default -> throw new CliException(EXIT_FAILED,
+                    "The agent answered " + AgentProtocol.statusName(response.status()) + ".");
+            }
+        } finally {
+            Arrays.fill(pin, '\0');
+        }
+    }
+
+    private int lockAgent() {
+        try (AgentClient agent = requireAgent()) {
+            agent.lock();
+            print(fields("locked", true));
+            return EXIT_OK;
+        } catch (IOException e) {
+            throw new CliException(EXIT_FAILED, "Error talking to the agent: " + e.getMessage());
+        }
+    }
+
+    private int agentStatus() {
+        try (AgentClient agent = connectAgent()) {
+            if (agent == null) {
+                print(fields("running", false));
+                return EXIT_FAILED;
+            }
+
+            AgentClient.Response status = agent.status();
+            boolean unlocked = status.payload().get() != 0;
+            String user = AgentProtocol.getString(status.payload());
+            long lockInMillis = status.payload().getLong();
+            String pinUser = AgentProtocol.getString(status.payload());
+            print(fields("running", true, "unlocked", unlocked, "user", user, "lockInMillis", lockInMillis,
+                "pinUser", pinUser));
+            return EXIT_OK;
+        } catch (IOException e) {
+            throw new CliException(EXIT_FAILED, "Error talking to the agent: " + e.getMessage());
+        }
+    }
+
+    private AgentClient connectAgent() {
+        if (options.containsKey("no-agent")) {
+            return null;
+        }
+        return AgentClient.connect(AgentProtocol.defaultSocketPath());
+    }
+
+    private AgentClient requireAgent() {
+        AgentClient agent = AgentClient.connect(AgentProtocol.defaultSocketPath());
+        if (agent == null) {
+            throw new CliException(EXIT_FAILED, "No agent is running, start one with: seraphim agent");
+        }
+        return agent;
+    }
+
+
+    /**
+     * Checks the master password of the user, which derives the vault key,
+     * and keeps the key when the command needs secrets.
+     */
+    private Session unlock(boolean deriveKey) {
+        String username = username();
+        char[] password = readSecret("Master password: ");
+        try (SecretArena.Secret secret = SecretArena.getInstance().allocate(password)) {
+            SecretKey key = unlockVault(username, secret);
+            Long userId = key != null ? AuthenticationModel.getInstance().getUserId(username) : null;
+            if (userId == null) {
+                throw new CliException(EXIT_FAILED, "Wrong username or password.");
+            }
+            return new Session(userId, deriveKey ? key : null);
+        } finally {
+            Arrays.fill(password, '\0');
+        }
+    }
+
+    private boolean authenticate(String username, char[] password) {
+        try (SecretArena.Secret secret = SecretArena.getInstance().allocate(password)) {
+            return unlockVault(username, secret) != null;
+        }
+    }
+
+    /**
+     * Checks the master password, which derives the vault key.
+     *
+     * @return the vault key, or null if the username or password is wrong
+     */
+    private SecretKey unlockVault(String username, SecretArena.Secret password) {
+        try {
+            return AuthenticationModel.getInstance().unlockVault(username, password, AuthenticationModel.SOURCE_CLI);
+        } catch (LoginThrottle.ThrottledException e) {
+            throw new CliException(EXIT_FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            throw new CliException(EXIT_FAILED, "Error reading the vault.");
+        }
+    }
+
+    private String username() {
+        String username = options.get("user");
+        if (username == null || username.isBlank()) {
+            username = ConfigUtils.get("rememberedUsername");
+        }
+        if (username == null || username.isBlank()) {
+            throw new CliException(EXIT_USAGE, "No user given and no remembered user, use --user.");
+        }
+        return username;
+    }
+
+    private int minutesOption(String option, int defaultMinutes) {
+        int minutes;
+        try {
+            minutes = Integer.parseInt(options.getOrDefault(option, String.valueOf(defaultMinutes)));
+        } catch (NumberFormatException e) {
+            throw new CliException(EXIT_USAGE, "--" + option + " takes a number of minutes.");
+        }
+        if (minutes <= 0) {
+            throw new CliException(EXIT_USAGE, "--" + option + " takes a positive number of minutes.");
+        }
+        return minutes;
+    }
+
+    private String singleArgument(String usage) {
+        if (arguments.size() != 1) {
+            throw new CliException(EXIT_USAGE, "usage: seraphim " + usage);
+        }
+        return arguments.get(0);
+    }
+
+    private char[] readSecret(String prompt) {
+        if (console != null) {
+            char[] secret = console.readPassword("%s", prompt);
+            if (secret != null) {
+                return secret;
+            }
+        } else {
+            try {
+                String line = stdin.readLine();
+                if (line != null) {
+                    return line.toCharArray();
+                }
+            } catch (IOException e) {
+                throw new CliException(EXIT_FAILED, "Error reading stdin: " + e.getMessage());
+            }
+        }
+        throw new CliException(EXIT_USAGE, "No password given.");
+    }
+
+
+    private static Map<String, Object> entryFields(VaultEntry entry) {
+        return fields(
+            "id", entry.id(),
+            "title", entry.title(),
+            "username", entry.username(),
+            "url", entry.url(),
+            "tags", entry.tags(),
+            "notes", entry.notes()
+            );
+    }
+
+    private static Map<String, Object> fields(Object... keysAndValues) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            fields.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return fields;
+    }
+
+    private void print(Map<String, ?> fields) {
+        out.println(JsonUtils.toJson(fields));
+    }
+
+    private void error(String message) {
+        err.println(JsonUtils.toJson(fields("error", message)));
+    }
+
+
+    private record Session(long userId, SecretKey key) {
+    }
+
+    /**
+     * Ends a command with a message and an exit status.
+     */
+    private static final class CliException extends RuntimeException {
+        private final int status;
+
+        CliException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.agent;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import dev.johnlester.seraphim.models.VaultEntry;
+
+import static dev.johnlester.seraphim.agent.AgentProtocol.*;
+
+
+/**
+ * A blocking client of the {@link UnlockAgent}.
+ * 
+ * The request methods send one request and wait for its response. To
+ * pipeline, call {@link #send(byte, Consumer)} for every request and then
+ * {@link #receive()} once per request.
+ * 
+ * @author JohnLesterDev
+ */
+public final class AgentClient implements Closeable {
+    private final SocketChannel channel;
+    private final FrameBuffer request = new FrameBuffer(256);
+
+    private ByteBuffer in = ByteBuffer.allocate(4096);
+    private int nextRequestId = 1;
+
+    private AgentClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connects to the agent on the given socket.
+     *
+     * @return the client, or null if no agent is listening
+     */
+    public static AgentClient connect(Path socketPath) {
+        if (!Files.exists(socketPath)) {
+            return null;
+        }
+        try {
+            return new AgentClient(SocketChannel.open(UnixDomainSocketAddress.of(socketPath)));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * A response of the agent. The payload is positioned after the header.
+     */
+    public record Response(int requestId, byte status, ByteBuffer payload) {
+        public boolean isOk() {
+            return status == STATUS_OK;
+        }
+    }
+
+    /**
+     * An entry returned by {@link #get(String, String)} with its password.
+     */
+    public record Lookup(byte status, VaultEntry entry, String password) {
+    }
+
+
+    public boolean ping() throws IOException {
+        return call(OP_PING, null).isOk();
+    }
+
+    /**
+     * Unlocks the vault of a user in the agent.
+     *
+     * @return true if the password was accepted
+     */
+    public boolean unlock(String username, char[] password) throws IOException {
+        return unlock(username, password, null).isOk();
+    }
+
+    /**
+     * Unlocks the vault, and with a PIN also allows {@link #unlockWithPin}
+     * until the quick unlock of the agent expires.
+     *
+     * @param pin the PIN of the user, or null
+     * @return the response, whose payload tells whether the PIN was set
+     */
+    public Response unlock(String username, char[] password, char[] pin) throws IOException {
+        byte[] passwordBytes = encode(password);
+        byte[] pinBytes = pin != null ? encode(pin) : null;
+        try {
+            return call(OP_UNLOCK, frame -> {
+                frame.putString(username).putBytes(passwordBytes);
+                if (pinBytes != null) {
+                    frame.putBytes(pinBytes);
+                }
+            });
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+            if (pinBytes != null) {
+                Arrays.fill(pinBytes, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Reopens the vault of the last unlock with its PIN.
+     *
+     * @return the response: ok, denied with the attempts left, or locked if
+     *         the master password is required
+     */
+    public Response unlockWithPin(String username, char[] pin) throws IOException {
+        byte[] pinBytes = encode(pin);
+        try {
+            return call(OP_UNLOCK_PIN, frame -> frame.putString(username).putBytes(pinBytes));
+        } finally {
+            Arrays.fill(pinBytes, (byte) 0);
+        }
+    }
+
+    public void lock() throws IOException {
+        call(OP_LOCK, null);
+    }
+
+    public Response status() throws IOException {
+        return call(OP_STATUS, null);
+    }
+
+    public Lookup get(String username, String title) throws IOException {
+        return getAll(username, List.of(title)).get(0);
+    }
+
+    /**
+     * Looks up several titles with pipelined requests.
+     *
+     * @return one lookup per title, in order
+     */
+    public List<Lookup> getAll(String username, List<String> titles) throws IOException {
+        for (String title : titles) {
+            send(OP_GET, frame -> frame.putString(username).putString(title));
+        }
+
+        List<Lookup> lookups = new ArrayList<>(titles.size());
+        for (int i = 0; i < titles.size(); i++) {
+            Response response = receive();
+            if (!response.isOk()) {
+                lookups.add(new Lookup(response.status(), null, null));
+                continue;
+            }
+
+            VaultEntry entry = readEntry(response.payload());
+            byte[] secret = getBytes(response.payload());
+            lookups.add(new Lookup(STATUS_OK, entry, new String(secret, StandardCharsets.UTF_8)));
+            Arrays.fill(secret, (byte) 0);
+        }
+        return lookups;
+    }
+
+    /**
+     * Returns the entries of the unlocked vault ordered by title, or null if
+     * the vault of this user is locked.
+     */
+    public List<VaultEntry> list(String username) throws IOException {
+        Response response = call(OP_LIST, frame -> frame.putString(username));
+        if (!response.isOk()) {
+            return null;
+        }
+
+        int count = response.payload().getInt();
+        List<VaultEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(readEntry(response.payload()));
+        }
+        return entries;
+    }
+
+
+    /**
+     * Sends a request without waiting for its response.
+     *
+     * @param opcode one of the {@code OP_} constants
+     * @param payload writes the payload after the header, or null
+     * @return the id of the request
+     */
+    public int send(byte opcode, Consumer<FrameBuffer> payload) throws IOException {
+        int requestId = nextRequestId++;
+        try {
+            request.begin(opcode, requestId);
+            if (payload != null) {
+                payload.accept(request);
+            }
+
+            ByteBuffer frame = request.finish();
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            return requestId;
+        } finally {
+            request.wipe();
+        }
+    }
+
+    /**
+     * Waits for the next response.
+     *
+     * @throws EOFException if the agent closed the connection
+     */
+    public Response receive() throws IOException {
+        while (true) {
+            if (in.position() >= 4) {
+                int length = in.getInt(0);
+                if (length < HEADER_BYTES || length > MAX_FRAME_BYTES) {
+                    throw new IOException("Malformed response of " + length + " bytes.");
+                }
+                if (in.position() >= 4 + length) {
+                    ByteBuffer frame = ByteBuffer.allocate(length);
+                    frame.put(0, in, 4, length);
+                    in.flip().position(4 + length);
+                    in.compact();
+
+                    byte status = frame.get();
+                    int requestId = frame.getInt();
+                    return new Response(requestId, status, frame.slice());
+                }
+                if (4 + length > in.capacity()) {
+                    ByteBuffer grown = ByteBuffer.allocate(4 + length);
+                    in.flip();
+                    grown.put(in);
+                    in = grown;
+                }
+            }
+
+            if (channel.read(in) < 0) {
+                throw new EOFException("The agent closed the connection.");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+
+    private static byte[] encode(char[] secret) {
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(secret));
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        wipe(encoded, 0, encoded.limit());
+        return bytes;
+    }
+
+
+    private Response call(byte opcode, Consumer<FrameBuffer> payload) throws IOException {
+        int requestId = send(opcode, payload);
+        Response response = receive();
+        if (response.requestId() != requestId) {
+            throw new IOException("Response " + response.requestId() + " does not match request " + requestId + ".");
+        }
+        return response;
+    }
+
+    private static VaultEntry readEntry(ByteBuffer payload) {
+        return new VaultEntry(
+            payload.getLong(),
+            getString(payload),
+            getString(payload),
+            getString(payload),
+            getString(payload),
+            getString(payload),
+            null
+            );
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.agent;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+
+/**
+ * The binary protocol spoken between the {@link UnlockAgent} and the
+ * {@link AgentClient}.
+ * 
+ * Every frame starts with its length, excluding the length itself:
+ * <pre>
+ * request:  u32 length, u8 opcode, u32 request id, payload
+ * response: u32 length, u8 status, u32 request id, payload
+ * </pre>
+ * Strings are a u16 byte count followed by UTF-8, with {@code 0xFFFF} for
+ * null. Clients may send any number of requests before reading; responses
+ * come back in the order the requests were sent on the connection.
+ * 
+ * @author JohnLesterDev
+ */
+public final class AgentProtocol {
+    public static final byte OP_PING = 1;
+    /**
+     * Payload: user, password, optionally a PIN. Derives the vault key and
+     * loads the vault; with a PIN, also allows {@link #OP_UNLOCK_PIN} later.
+     * Response: u8 1 if the PIN was set; when throttled, u8 0 and u64
+     * milliseconds until the next attempt is allowed.
+     */
+    public static final byte OP_UNLOCK = 2;
+    public static final byte OP_LOCK = 3;
+    /** Payload: user, title. Response: an entry followed by its password. */
+    public static final byte OP_GET = 4;
+    /** Payload: user. Response: u32 count, then every entry. */
+    public static final byte OP_LIST = 5;
+    /**
+     * Response: u8 unlocked, user, u64 milliseconds until the auto-lock, the
+     * user whose vault a PIN can reopen.
+     */
+    public static final byte OP_STATUS = 6;
+    /**
+     * Payload: user, PIN. Reopens the vault of the last unlock with a PIN.
+     * Response: u8 attempts left when denied; locked when the master
+     * password is required again.
+     */
+    public static final byte OP_UNLOCK_PIN = 7;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_LOCKED = 1;
+    public static final byte STATUS_DENIED = 2;
+    public static final byte STATUS_NOT_FOUND = 3;
+    public static final byte STATUS_BAD_REQUEST = 4;
+    public static final byte STATUS_ERROR = 5;
+    /** Too many wrong passwords for the user, nothing was checked. */
+    public static final byte STATUS_THROTTLED = 6;
+
+    /**
+     * Size of the opcode or status and the request id.
+     */
+    public static final int HEADER_BYTES = 5;
+
+    /**
+     * Frames larger than this close the connection.
+     */
+    public static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private static final int NULL_STRING = 0xFFFF;
+
+    /**
+     * Returns the socket of the agent: {@code SERAPHIM_AGENT_SOCK} if it is
+     * set, otherwise {@code agent.sock} next to the database.
+     */
+    public static Path defaultSocketPath() {
+        String override = System.getenv("SERAPHIM_AGENT_SOCK");
+        if (override != null && !override.isBlank()) {
+            return Path.of(override);
+        }
+        return Path.of(System.getProperty("user.home"), ".local", "share", "seraphim", "agent.sock");
+    }
+
+    public static String statusName(byte status) {
+        return switch (status) {
+            case STATUS_OK -> "ok";
+            case STATUS_LOCKED -> "locked";
+            case STATUS_DENIED -> "denied";
+            case STATUS_NOT_FOUND -> "not found";
+            case STATUS_BAD_REQUEST -> "bad request";
+            case STATUS_THROTTLED -> "throttled";
+            default -> "error";
+        };
+    }
+
+    /**
+     * Reads a string written by {@link FrameBuffer#putString(String)}.
+     *
+     * @throws BufferUnderflowException if the buffer is truncated
+     */
+    public static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), checkLength(buffer, length),
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads bytes written by {@link FrameBuffer#putBytes(byte[])}. The caller
+     * owns the returned copy and should clear it when it holds a secret.
+     */
+    public static byte[] getBytes(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[checkLength(buffer, length)];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static int checkLength(ByteBuffer buffer, int length) {
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    /**
+     * Zeroes the bytes of a buffer between two positions, e.g. a request
+     * that carried a password.
+     */
+    public static void wipe(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+
+    /**
+     * A growable frame under construction. The length prefix is filled in by
+     * {@link #finish()}.
+     */
+    public static final class FrameBuffer {
+        private ByteBuffer buffer;
+
+        public FrameBuffer(int initialCapacity) {
+            buffer = ByteBuffer.allocate(Math.max(16, initialCapacity));
+        }
+
+        /**
+         * Starts a new frame, discarding and zeroing the previous one.
+         */
+        public FrameBuffer begin(byte opcodeOrStatus, int requestId) {
+            wipe();
+            buffer.putInt(0);
+            buffer.put(opcodeOrStatus);
+            buffer.putInt(requestId);
+            return this;
+        }
+
+        public FrameBuffer putByte(byte value) {
+            ensure(1).put(value);
+            return this;
+        }
+
+        public FrameBuffer putInt(int value) {
+            ensure(4).putInt(value);
+            return this;
+        }
+
+        public FrameBuffer putLong(long value) {
+            ensure(8).putLong(value);
+            return this;
+        }
+
+        public FrameBuffer putString(String value) {
+            if (value == null) {
+                ensure(2).putShort((short) NULL_STRING);
+                return this;
+            }
+            return putBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public FrameBuffer putBytes(byte[] value) {
+            if (value.length >= NULL_STRING) {
+                throw new IllegalArgumentException("Field of " + value.length + " bytes is too long.");
+            }
+            ensure(2 + value.length).putShort((short) value.length).put(value);
+            return this;
+        }
+
+        /**
+         * Writes the length prefix and returns the frame, ready to be read.
+         * The returned buffer shares the contents of this one.
+         */
+        public ByteBuffer finish() {
+            buffer.putInt(0, buffer.position() - 4);
+            return buffer.duplicate().flip();
+        }
+
+        /**
+         * Zeroes everything written so far.
+         */
+        public void wipe() {
+            Arrays.fill(buffer.array(), 0, buffer.position(), (byte) 0);
+            buffer.clear();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                byte[] old = buffer.array();
+                int used = buffer.position();
+                grown.put(old, 0, used);
+                Arrays.fill(old, 0, used, (byte) 0);
+                buffer = grown;
+            }
+            return buffer;
+        }
+    }
+
+
+    private AgentProtocol() {
+        throw new AssertionError("AgentProtocol is a utility class and cannot be instantiated.");
+    }
+}
@@ -0,0 +1,779 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.agent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+
+import dev.johnlester.seraphim.models.AuthenticationModel;
+import dev.johnlester.seraphim.models.QuickUnlock;
+import dev.johnlester.seraphim.models.SQLHelper;
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel;
+import dev.johnlester.seraphim.utils.LocalSockets;
+import dev.johnlester.seraphim.utils.LoginThrottle;
+import dev.johnlester.seraphim.utils.SecretArena;
+import dev.johnlester.seraphim.utils.VaultCrypto;
+
+import static dev.johnlester.seraphim.agent.AgentProtocol.*;
+
+
+/**
+ * A long-lived process that keeps one vault unlocked and answers lookups over
+ * a Unix domain socket, like ssh-agent.
+ * 
+ * A single thread runs a selector loop over every connection. Requests are
+ * answered from memory: the agent holds the metadata and the sealed secrets
+ * of the unlocked vault, and decrypts a secret only when it is requested.
+ * The database is only read again when another connection changed it. Only
+ * the key derivation of an unlock runs on a separate thread; later requests
+ * on that connection wait for it so responses keep their order.
+ * 
+ * The vault locks itself when no request used it for the idle timeout. The
+ * socket is bound in a directory only the owner of the process can enter,
+ * and connections from processes of other users are closed when accepted.
+ * 
+ * An unlock may also set a PIN: the vault key then stays sealed under the
+ * PIN in a {@link QuickUnlock} after the vault locks, and a PIN unlock
+ * reopens it without the master password or its key derivation until the
+ * quick unlock expires.
+ * 
+ * Wrong master passwords are throttled per user by the
+ * {@link LoginThrottle}; a throttled unlock is answered before any hashing or
+ * key derivation.
+ * 
+ * @author JohnLesterDev
+ */
+public final class UnlockAgent implements Closeable {
+    private static final int READ_BUFFER_BYTES = 4096;
+
+    /**
+     * The source under which wrong master passwords sent to the agent are
+     * throttled.
+     */
+    private static final String THROTTLE_SOURCE = "agent";
+
+    private final Path socketPath;
+    private final long idleTimeoutNanos;
+    private final QuickUnlock quickUnlock;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final ExecutorService unlockExecutor;
+    private final Queue<Runnable> completions = new ConcurrentLinkedQueue<>();
+    private final FrameBuffer response = new FrameBuffer(READ_BUFFER_BYTES);
+
+    private volatile boolean running = true;
+
+    private Session session;
+    private long lastUsedNanos;
+
+    private UnlockAgent(Path socketPath, Duration idleTimeout, QuickUnlock quickUnlock, Selector selector,
+            ServerSocketChannel server) {
+        this.socketPath = socketPath;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.quickUnlock = quickUnlock;
+        this.selector = selector;
+        this.server = server;
+        this.unlockExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-agent-unlock");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Binds the agent socket. A socket file left behind by an agent that is
+     * no longer running is replaced.
+     *
+     * @param socketPath the socket file
+     * @param idleTimeout the time without requests after which the vault locks
+     * @param quickUnlock holds the vault key sealed under a PIN between unlocks
+     * @return the agent, which serves once {@link #run()} is called
+     * @throws IOException if the socket cannot be bound, or another agent is
+     *         already listening on it
+     */
+    public static UnlockAgent open(Path socketPath, Duration idleTimeout, QuickUnlock quickUnlock) throws IOException {
+        // Only the owner can enter the directory, so nobody else can
+        // connect before the socket file is restricted below.
+        Path directory = socketPath.toAbsolutePath().getParent();
+        if (directory != null) {
+            LocalSockets.createPrivateDirectory(directory);
+        }
+
+        if (Files.exists(socketPath)) {
+            if (isListening(socketPath)) {
+                throw new IOException("An agent is already listening on " + socketPath + ".");
+            }
+            Files.delete(socketPath);
+        }
+
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        Selector selector = null;
+        try {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            LocalSockets.restrictToOwner(socketPath);
+            server.configureBlocking(false);
+
+            selector = Selector.open();
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            return new UnlockAgent(socketPath, idleTimeout, quickUnlock, selector, server);
+        } catch (IOException | RuntimeException e) {
+            server.close();
+            if (selector != null) {
+                selector.close();
+            }
+            Files.deleteIfExists(socketPath);
+            throw e;
+        }
+    }
+
+    private static boolean isListening(Path socketPath) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+
+    /**
+     * Serves requests until {@link #close()} is called.
+     *
+     * @throws IOException if the selector fails
+     */
+    public void run() throws IOException {
+        try {
+            while (running) {
+                selector.select(selectTimeoutMillis());
+
+                Runnable completion;
+                while ((completion = completions.poll()) != null) {
+                    completion.run();
+                }
+                lockIfIdle();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            ClientConnection client = (ClientConnection) key.attachment();
+                            if (key.isReadable()) {
+                                client.read();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                client.flush();
+                            }
+                        }
+                    } catch (IOException e) {
+                        if (key.attachment() instanceof ClientConnection client) {
+                            client.close();
+                        }
+                    }
+                }
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Stops the loop from any thread. The vault is locked and the socket file
+     * removed when the loop exits.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void shutdown() throws IOException {
+        lock();
+        quickUnlock.disarm();
+        unlockExecutor.shutdownNow();
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        Files.deleteIfExists(socketPath);
+    }
+
+    private long selectTimeoutMillis() {
+        if (session == null) {
+            return 0;
+        }
+        long remaining = idleTimeoutNanos - (System.nanoTime() - lastUsedNanos);
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+    }
+
+    private void lockIfIdle() {
+        if (session != null && System.nanoTime() - lastUsedNanos >= idleTimeoutNanos) {
+            lock();
+        }
+    }
+
+    private void lock() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (!LocalSockets.isOwnPeer(channel)) {
+                channel.close();
+                return;
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        channel.configureBlocking(false);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new ClientConnection(channel, key));
+    }
+
+
+    private void handle(ClientConnection client, byte opcode, int requestId, ByteBuffer payload) {
+        try {
+            switch (opcode) {
+                case OP_PING -> client.respond(response.begin(STATUS_OK, requestId));
+                case OP_STATUS -> status(client, requestId);
+                case OP_LOCK -> {
+                    lock();
+                    client.respond(response.begin(STATUS_OK, requestId));
+                }
+                case OP_UNLOCK -> unlock(client, requestId, payload);
+                case OP_UNLOCK_PIN -> unlockWithPin(client, requestId, payload);
+                case OP_GET -> get(client, requestId, payload);
+                case OP_LIST -> list(client, requestId, payload);
+                default -> client.respond(response.begin(STATUS_BAD_REQUEST, requestId));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            client.respond(response.begin(STATUS_BAD_REQUEST, requestId));
+        } catch (GeneralSecurityException | SQLException | RuntimeException e) {
+            client.respond(response.begin(STATUS_ERROR, requestId).putString(e.getMessage()));
+        } finally {
+            response.wipe();
+        }
+    }
+
+    private void status(ClientConnection client, int requestId) {
+        long remainingMillis = 0;
+        if (session != null) {
+            remainingMillis = TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos - (System.nanoTime() - lastUsedNanos));
+        }
+        client.respond(response.begin(STATUS_OK, requestId)
+            .putByte((byte) (session != null ? 1 : 0))
+            .putString(session != null ? session.username : null)
+            .putLong(Math.max(0, remainingMillis))
+            .putString(quickUnlock.getArmedUsername()));
+    }
+
+    /**
+     * Hands the key derivation to the unlock thread and holds back the
+     * following requests of the connection until it is done.
+     */
+    private void unlock(ClientConnection client, int requestId, ByteBuffer payload) {
+        String username = getString(payload);
+        char[] password = decodeSecret(payload);
+        byte[] pin = payload.hasRemaining() ? getBytes(payload) : null;
+
+        client.waiting = true;
+        unlockExecutor.execute(() -> {
+            Session unlocked = null;
+            boolean pinSet = false;
+            long retryAfter = 0;
+            try {
+                unlocked = Session.unlock(username, password);
+                if (unlocked != null && pin != null) {
+                    pinSet = armQuickUnlock(unlocked, pin);
+                }
+            } catch (LoginThrottle.ThrottledException e) {
+                retryAfter = e.getRetryAfterMillis();
+            } catch (Exception e) {
+                unlocked = null;
+            } finally {
+                Arrays.fill(password, '\0');
+                if (pin != null) {
+                    Arrays.fill(pin, (byte) 0);
+                }
+            }
+
+            Session result = unlocked;
+            if (retryAfter > 0) {
+                long wait = retryAfter;
+                completions.add(() -> finishThrottled(client, requestId, wait));
+            } else {
+                byte detail = (byte) (pinSet ? 1 : 0);
+                completions.add(() -> finishUnlock(client, requestId, result, result != null ? STATUS_OK : STATUS_DENIED, detail));
+            }
+            selector.wakeup();
+        });
+    }
+
+    /**
+     * Seals the key of a new session under the PIN of its user, if the PIN
+     * is the one set for the user.
+     */
+    private boolean armQuickUnlock(Session unlocked, byte[] pin) throws GeneralSecurityException {
+        try (SecretArena.Secret secret = SecretArena.getInstance().allocate(pin)) {
+            if (!Boolean.TRUE.equals(AuthenticationModel.getInstance().validatePIN(unlocked.username, secret))) {
+                return false;
+            }
+            quickUnlock.arm(unlocked.username, unlocked.userId, unlocked.key, secret);
+            return true;
+        }
+    }
+
+    /**
+     * Reopens the vault with a PIN on the unlock thread, like
+     * {@link #unlock}.
+     */
+    private void unlockWithPin(ClientConnection client, int requestId, ByteBuffer payload) {
+        String username = getString(payload);
+        byte[] pin = getBytes(payload);
+
+        client.waiting = true;
+        unlockExecutor.execute(() -> {
+            Session unlocked = null;
+            byte status;
+            byte detail = 0;
+            try (SecretArena.Secret secret = SecretArena.getInstance().allocate(pin)) {
+                QuickUnlock.Result result = quickUnlock.unlock(username, secret);
+                switch (result.status()) {
+                    case UNLOCKED -> {
+                        unlocked = Session.open(username, result.userId(), result.key());
+                        status = STATUS_OK;
+                    }
+                    case WRONG_PIN -> {
+                        status = STATUS_DENIED;
+                        detail = (byte) result.remainingAttempts();
+                    }
+                    default -> status = STATUS_LOCKED;
+                }
+            } catch (Exception e) {
+                status = STATUS_ERROR;
+            } finally {
+                Arrays.fill(pin, (byte) 0);
+            }
+
+            Session session = unlocked;
+            byte finalStatus = status;
+            byte finalDetail = detail;
+            completions.add(() -> finishUnlock(client, requestId, session, finalStatus, finalDetail));
+            selector.wakeup();
+        });
+    }
+
+    private void finishUnlock(ClientConnection client, int requestId, Session unlocked, byte status, byte detail) {
+        if (unlocked != null) {
+            lock();
+            session = unlocked;
+            lastUsedNanos = System.nanoTime();
+        }
+
+        client.waiting = false;
+        if (!client.isOpen()) {
+            return;
+        }
+        client.respond(response.begin(status, requestId).putByte(detail));
+        response.wipe();
+        client.processFrames();
+    }
+
+    private void finishThrottled(ClientConnection client, int requestId, long retryAfterMillis) {
+        client.waiting = false;
+        if (!client.isOpen()) {
+            return;
+        }
+        client.respond(response.begin(STATUS_THROTTLED, requestId).putByte((byte) 0).putLong(retryAfterMillis));
+        client.processFrames();
+    }
+
+    private static char[] decodeSecret(ByteBuffer payload) {
+        byte[] bytes = getBytes(payload);
+        CharBuffer decoded = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes));
+        char[] secret = Arrays.copyOf(decoded.array(), decoded.limit());
+        Arrays.fill(bytes, (byte) 0);
+        Arrays.fill(decoded.array(), '\0');
+        return secret;
+    }
+
+    private void get(ClientConnection client, int requestId, ByteBuffer payload)
+            throws GeneralSecurityException, SQLException {
+        String username = getString(payload);
+        String title = getString(payload);
+        if (!isUnlockedFor(username)) {
+            client.respond(response.begin(STATUS_LOCKED, requestId));
+            return;
+        }
+
+        session.refreshIfChanged();
+        VaultEntry entry = session.findByTitle(title);
+        if (entry == null) {
+            client.respond(response.begin(STATUS_NOT_FOUND, requestId));
+            return;
+        }
+
+        byte[] secret = VaultCrypto.open(session.cipher, session.key, entry.secret(),
+            VaultCrypto.entryBinding(session.userId, entry.id()));
+        try {
+            putEntry(response.begin(STATUS_OK, requestId), entry).putBytes(secret);
+            client.respond(response);
+        } finally {
+            Arrays.fill(secret, (byte) 0);
+        }
+    }
+
+    private void list(ClientConnection client, int requestId, ByteBuffer payload) throws SQLException {
+        String username = getString(payload);
+        if (!isUnlockedFor(username)) {
+            client.respond(response.begin(STATUS_LOCKED, requestId));
+            return;
+        }
+
+        session.refreshIfChanged();
+        response.begin(STATUS_OK, requestId).putInt(session.entries.size());
+        for (VaultEntry entry : session.sortedByTitle()) {
+            putEntry(response, entry);
+        }
+        client.respond(response);
+    }
+
+    private boolean isUnlockedFor(String username) {
+        if (session == null || !session.username.equals(username)) {
+            return false;
+        }
+        lastUsedNanos = System.nanoTime();
+        quickUnlock.touch(username);
+        return true;
+    }
+
+    private static FrameBuffer putEntry(FrameBuffer frame, VaultEntry entry) {
+        return frame.putLong(entry.id())
+            .putString(entry.title())
+            .putString(entry.username())
+            .putString(entry.url())
+            .putString(entry.tags())
+            .putString(entry.notes());
+    }
+
+
+    /**
+     * An unlocked vault: the key and every entry with its sealed secret.
+     */
+    private static final class Session {
+        private final String username;
+        private final long userId;
+        private final Cipher cipher;
+        private SecretKey key;
+
+        private List<VaultEntry> entries = List.of();
+        private Map<String, VaultEntry> byTitle = Map.of();
+
+        /**
+         * A connection kept open while unlocked, only to read
+         * {@code PRAGMA data_version}, which changes whenever another
+         * connection commits.
+         */
+        private Connection watch;
+        private long dataVersion = -1;
+
+        private Session(String username, long userId, SecretKey key) throws GeneralSecurityException {
+            this.username = username;
+            this.userId = userId;
+            this.key = key;
+            this.cipher = VaultCrypto.newCipher();
+        }
+
+        /**
+         * Checks the master password and loads the vault, or returns null.
+         *
+         * @throws LoginThrottle.ThrottledException if too many wrong
+         *         passwords were given for the user, before any key derivation
+         */
+        static Session unlock(String username, char[] password) throws GeneralSecurityException, SQLException {
+            AuthenticationModel authentication = AuthenticationModel.getInstance();
+            SecretKey key;
+            try (SecretArena.Secret secret = SecretArena.getInstance().allocate(password)) {
+                key = authentication.unlockVault(username, secret, THROTTLE_SOURCE);
+            }
+
+            Long userId = key != null ? authentication.getUserId(username) : null;
+            if (userId == null) {
+                return null;
+            }
+
+            return open(username, userId, key);
+        }
+
+        /**
+         * Loads the vault with a key that is already known to be right.
+         */
+        static Session open(String username, long userId, SecretKey key) throws GeneralSecurityException, SQLException {
+            Session session = new Session(username, userId, key);
+            session.watch = SQLHelper.connect();
+            try {
+                session.refreshIfChanged();
+            } catch (SQLException | RuntimeException e) {
+                session.close();
+                throw e;
+            }
+            return session;
+        }
+
+        void refreshIfChanged() throws SQLException {
+            long version;
+            try (Statement stmt = watch.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                version = rs.next() ? rs.getLong(1) : -1;
+            }
+            if (version == dataVersion && dataVersion != -1) {
+                return;
+            }
+
+            List<VaultEntry> loaded = VaultEntryModel.getInstance().listSealedEntries(userId);
+            Map<String, VaultEntry> index = new HashMap<>(loaded.size() * 2);
+            for (VaultEntry entry : loaded) {
+                // Oldest entry wins, as in VaultEntryModel.findByTitle.
+                index.putIfAbsent(entry.title().toLowerCase(Locale.ROOT), entry);
+            }
+            entries = loaded;
+            byTitle = index;
+            dataVersion = version;
+        }
+
+        VaultEntry findByTitle(String title) {
+            return title == null ? null : byTitle.get(title.toLowerCase(Locale.ROOT));
+        }
+
+        List<VaultEntry> sortedByTitle() {
+            List<VaultEntry> sorted = new ArrayList<>(entries);
+            sorted.sort((a, b) -> {
+                int order = String.CASE_INSENSITIVE_ORDER.compare(a.title(), b.title());
+                return order != 0 ? order : Long.compare(a.id(), b.id());
+            });
+            return sorted;
+        }
+
+        void close() {
+            key = null;
+            entries = List.of();
+            byTitle = Map.of();
+            try {
+                watch.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+
+    /**
+     * The buffers of one client. Reads are accumulated until a frame is
+     * complete, so a client may pipeline any number of requests.
+     */
+    private final class ClientConnection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private ByteBuffer out = ByteBuffer.allocate(READ_BUFFER_BYTES);
+
+        private boolean waiting;
+
+        ClientConnection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            processFrames();
+        }
+
+        /**
+         * Handles every complete frame in the read buffer, unless an unlock
+         * of this connection is still running.
+         */
+        void processFrames() {
+            in.flip();
+            while (!waiting && in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length < HEADER_BYTES || length > MAX_FRAME_BYTES) {
+                    close();
+                    return;
+                }
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+
+                int frameStart = in.position();
+                int frameEnd = frameStart + 4 + length;
+                in.position(frameStart + 4);
+                byte opcode = in.get();
+                int requestId = in.getInt();
+                ByteBuffer payload = in.slice(in.position(), frameEnd - in.position());
+                in.position(frameEnd);
+
+                handle(this, opcode, requestId, payload);
+                wipe(in, frameStart, frameEnd);
+                if (!isOpen()) {
+                    return;
+                }
+            }
+            compact();
+
+            try {
+                flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        /**
+         * Moves the unread bytes to the front and grows the buffer when the
+         * next frame does not fit.
+         */
+        private void compact() {
+            int used = in.limit();
+            in.compact();
+            wipe(in, in.position(), used);
+
+            if (in.position() >= 4) {
+                int needed = 4 + in.getInt(0);
+                if (needed > in.capacity() && needed <= MAX_FRAME_BYTES + 4) {
+                    ByteBuffer grown = ByteBuffer.allocate(needed);
+                    int position = in.position();
+                    in.flip();
+                    grown.put(in);
+                    wipe(in, 0, position);
+                    in = grown;
+                }
+            }
+        }
+
+        void respond(FrameBuffer frame) {
+            ByteBuffer bytes = frame.finish();
+            if (out.remaining() < bytes.remaining()) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes.remaining()));
+                int position = out.position();
+                out.flip();
+                grown.put(out);
+                wipe(out, 0, position);
+                out = grown;
+            }
+            out.put(bytes);
+        }
+
+        /**
+         * Writes as much as the socket accepts and waits for it to become
+         * writable again for the rest.
+         */
+        void flush() throws IOException {
+            if (out.position() > 0) {
+                int used = out.position();
+                out.flip();
+                channel.write(out);
+                out.compact();
+                wipe(out, out.position(), used);
+            }
+
+            if (key.isValid()) {
+                // Reading stops while an unlock is running, the frames wait
+                // in the socket instead of filling the read buffer.
+                int interest = waiting ? 0 : SelectionKey.OP_READ;
+                if (out.position() > 0) {
+                    interest |= SelectionKey.OP_WRITE;
+                }
+                key.interestOps(interest);
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to do with a broken connection.
+            }
+            wipe(in, 0, in.capacity());
+            wipe(out, 0, out.capacity());
+        }
+    }
+}
@@ -17,20 +17,48 @@
  * Copyright (C) 2025 JohnLesterDev
  */
 
-
 package dev.johnlester.seraphim.controllers;
 
+import dev.johnlester.seraphim.App;
 import dev.johnlester.seraphim.models.AuthenticationModel;
-import dev.johnlester.seraphim.views.PasswordManagerView;
+import dev.johnlester.seraphim.models.VaultSecrets;
+import dev.johnlester.seraphim.utils.ConfigUtils;
+import dev.johnlester.seraphim.utils.LoginThrottle;
+import dev.johnlester.seraphim.utils.MonitorUtils;
+import dev.johnlester.seraphim.utils.SecretArena;
+import dev.johnlester.seraphim.views.LoginForm;
+import dev.johnlester.seraphim.views.VaultListView;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.crypto.SecretKey;
+import javax.swing.SwingUtilities;
 
+/**
+ * Logs in and registers users from a {@link LoginForm}. Checking a master
+ * password derives the vault key, so it runs on a background thread; a
+ * successful login shows the vault of the user with its {@link VaultSecrets},
+ * which the vault view closes when it is locked or evicted.
+ * 
+ * @author JohnLesterDev
+ */
 public class PasswordManagerController {
-    private PasswordManagerView view;
+    private LoginForm view;
     private AuthenticationModel authenticationModel = AuthenticationModel.getInstance();
+    /**
+     * Shared by every form, the login view is built again after it was
+     * evicted.
+     */
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seraphim-login");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    public PasswordManagerController(PasswordManagerView view) {
+    public PasswordManagerController(LoginForm view) {
         this.view = view;
                 
         // Add action listeners for buttons
@@ -38,18 +66,65 @@ public class PasswordManagerController {
         view.addRegisterButtonListener(new RegisterAction());
     }
 
+    /**
+     * Switches the window to the vault of a user who just logged in.
+     */
+    private static void showVault(long userId, VaultSecrets secrets) {
+        VaultListView vault = (VaultListView) ViewManager.getView(App.VAULT_VIEW);
+        vault.setLockAction(PasswordManagerController::showLogin);
+        vault.showVault(userId, secrets);
+        ViewManager.switchTo(App.VAULT_VIEW,
+            ConfigUtils.get("title") + " - Vault",
+            ConfigUtils.getInt("defaultMonitorIndex", MonitorUtils.getDefaultMonitorIndex())
+            );
+    }
+
+    /**
+     * Switches the window back to the login after the vault was locked.
+     */
+    private static void showLogin() {
+        ((LoginForm) ViewManager.getView(App.AUTHENTICATION_VIEW)).showSuccessMessage("Vault locked.");
+        ViewManager.switchTo(App.AUTHENTICATION_VIEW,
+            ConfigUtils.get("title") + " - Login",
+            ConfigUtils.getInt("defaultMonitorIndex", MonitorUtils.getDefaultMonitorIndex())
+            );
+    }
+
     // Login button action
     private class LoginAction implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
             String username = view.getUsername();
-            String password = view.getPassword();
+            SecretArena.Secret password = view.getPassword();
+            view.setBusy(true);
 
-            if (authenticationModel.validateCredentials(username, password)) {
-                view.showSuccessMessage("Login Successful!");
-            } else {
-                view.showErrorMessage("Invalid credentials.");
-            }
+            worker.execute(() -> {
+                Runnable result;
+                try (password) {
+                    SecretKey key = authenticationModel.unlockVault(username, password, AuthenticationModel.SOURCE_APP);
+                    Long userId = key != null ? authenticationModel.getUserId(username) : null;
+                    if (userId != null) {
+                        VaultSecrets secrets = new VaultSecrets(userId, key);
+                        result = () -> {
+                            view.showSuccessMessage("Login Successful!");
+                            showVault(userId, secrets);
+                        };
+                    } else {
+                        result = () -> view.showErrorMessage("Invalid credentials.");
+                    }
+                } catch (LoginThrottle.ThrottledException ex) {
+                    result = () -> view.showErrorMessage(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    ex.printStackTrace();
+                    result = () -> view.showErrorMessage("Login Failed!");
+                }
+
+                Runnable show = result;
+                SwingUtilities.invokeLater(() -> {
+                    view.setBusy(false);
+                    show.run();
+                });
+            });
         }
     }
 
@@ -58,13 +133,29 @@ public class PasswordManagerController {
         @Override
         public void actionPerformed(ActionEvent e) {
             String username = view.getUsername();
-            String password = view.getPassword();
+            SecretArena.Secret password = view.getPassword();
+            view.setBusy(true);
+
+            worker.execute(() -> {
+                Runnable result;
+                try (password) {
+                    if (authenticationModel.createUser(username, password)) {
+                        result = () -> view.showSuccessMessage("User Registered!");
+                    } else {
+                        result = () -> view.showErrorMessage("Registration Failed!");
+                    }
+                } catch (IllegalArgumentException ex) {
+                    result = () -> view.showErrorMessage(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    result = () -> view.showErrorMessage("Registration Failed!");
+                }
 
-            if (authenticationModel.createUser(username, password)) {
-                view.showSuccessMessage("User Registered!");
-            } else {
-                view.showErrorMessage("Registration Failed!");
-            }
+                Runnable show = result;
+                SwingUtilities.invokeLater(() -> {
+                    view.setBusy(false);
+                    show.run();
+                });
+            });
         }
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.controllers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel;
+import dev.johnlester.seraphim.utils.search.FuzzyIndex;
+import dev.johnlester.seraphim.utils.search.FuzzyIndex.Match;
+import dev.johnlester.seraphim.views.QuickSwitcher;
+import dev.johnlester.seraphim.views.VaultListView;
+
+
+/**
+ * Jumps to an entry by fuzzy matching its title or host, like "go to file"
+ * in an IDE.
+ * 
+ * The titles and hosts of the vault are read into a {@link FuzzyIndex} in
+ * the background once the vault is shown, and the index follows every
+ * change of the vault afterwards. Loading and changes run on one thread in
+ * order, so a change is never overwritten by an older row of the initial
+ * load. Searches run on a thread of their own, so they never wait for the
+ * load: until it finishes, they see the entries read so far.
+ * 
+ * @author JohnLesterDev
+ */
+public class QuickSwitcherController {
+    private static final int MAX_MATCHES = 50;
+
+    private final VaultListView view;
+    private final long ownerId;
+    private final FuzzyIndex index = new FuzzyIndex();
+    private final VaultEntryModel model = VaultEntryModel.getInstance();
+    private final ExecutorService worker;
+    private final ExecutorService searcher;
+
+    private final VaultEntryModel.ChangeListener changeListener = new VaultEntryModel.ChangeListener() {
+        @Override
+        public void entriesSaved(long owner, List<VaultEntry> entries) {
+            if (owner == ownerId) {
+                worker.execute(() -> entries.forEach(QuickSwitcherController.this::put));
+            }
+        }
+
+        @Override
+        public void entriesDeleted(long owner, long[] ids) {
+            if (owner == ownerId) {
+                worker.execute(() -> {
+                    for (long id : ids) {
+                        index.remove(id);
+                    }
+                });
+            }
+        }
+    };
+
+    private volatile boolean disposed;
+
+    /**
+     * The number of the latest search. Results of older searches are
+     * dropped. Only accessed on the EDT.
+     */
+    private long searchGeneration;
+
+    private QuickSwitcher popup;
+
+    public QuickSwitcherController(VaultListView view, long ownerId) {
+        this.view = view;
+        this.ownerId = ownerId;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-quick-switcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.searcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-quick-switcher-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        model.addChangeListener(changeListener);
+        worker.execute(() -> model.streamEntries(ownerId, () -> disposed, this::put));
+    }
+
+    /**
+     * Opens the switcher over the vault list. Must be called on the EDT.
+     */
+    public void open() {
+        if (popup == null) {
+            popup = new QuickSwitcher(SwingUtilities.getWindowAncestor(view), this);
+        }
+        popup.open();
+    }
+
+    /**
+     * Finds the best matches of a query in the background. Must be called on
+     * the EDT; the results are delivered on the EDT, unless a newer search
+     * started in the meantime.
+     *
+     * @param query the query as typed
+     * @param consumer receives the matches, best first
+     */
+    public void search(String query, Consumer<List<Match>> consumer) {
+        long generation = ++searchGeneration;
+        searcher.execute(() -> {
+            List<Match> matches = index.search(query, MAX_MATCHES);
+            SwingUtilities.invokeLater(() -> {
+                if (generation == searchGeneration && !disposed) {
+                    consumer.accept(matches);
+                }
+            });
+        });
+    }
+
+    /**
+     * Shows the chosen entry in the vault list: searches for its title and
+     * selects it among the results.
+     */
+    public void choose(Match match) {
+        view.getSearchField().setText(match.title());
+        view.selectEntry(match.id());
+        view.getTable().requestFocusInWindow();
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     */
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    /**
+     * Stops following the vault and closes the switcher.
+     */
+    public void dispose() {
+        disposed = true;
+        model.removeChangeListener(changeListener);
+        worker.shutdownNow();
+        searcher.shutdownNow();
+        if (popup != null) {
+            popup.dispose();
+        }
+        index.clear();
+    }
+
+
+    private void put(VaultEntry entry) {
+        index.put(entry.id(), entry.title(), host(entry.url()));
+    }
+
+    /**
+     * Returns the host of a URL without "www.", or the URL itself if it has
+     * no host.
+     */
+    static String host(String url) {
+        if (url == null || url.isBlank()) {
+            return "";
+        }
+
+        String host = null;
+        try {
+            host = URI.create(url.contains("://") ? url.trim() : "https://" + url.trim()).getHost();
+        } catch (IllegalArgumentException e) {
+            // Not a URL, the text is matched as it is.
+        }
+        if (host == null) {
+            return url.trim();
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel;
+import dev.johnlester.seraphim.views.VaultListView;
+import dev.johnlester.seraphim.views.VaultSearchModel;
+
+
+/**
+ * Filters the vault list while the user types.
+ * 
+ * Searching runs on a background thread. Every keystroke cancels the search
+ * still running and starts a new one. A new query is answered by the
+ * full-text index of the vault, best match first. When the query only grew,
+ * e.g. "git" after "gi", the new search filters the results of the previous
+ * one in memory instead, since every match of the longer query is also a
+ * match of the shorter one. Those results are dropped when the vault
+ * changes, so the next query reads the index again. Results are published
+ * to the list in batches while the search runs.
+ * 
+ * An entry matches when every word of the query starts a word of its title,
+ * username, URL, tags or notes, see {@link VaultEntryModel#searchFullText}.
+ * 
+ * @author JohnLesterDev
+ */
+public class VaultSearchController {
+    /**
+     * Results are published when this many were found, or when
+     * {@link #PUBLISH_INTERVAL_NANOS} passed since the last batch.
+     */
+    private static final int BATCH_SIZE = 256;
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private final VaultListView view;
+    private final long ownerId;
+    private final VaultSearchModel results = new VaultSearchModel();
+    private final VaultEntryModel model = VaultEntryModel.getInstance();
+    private final ExecutorService searcher;
+
+    private final DocumentListener queryListener = new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            search(view.getSearchField().getText());
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            search(view.getSearchField().getText());
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            // Attribute changes do not change the query.
+        }
+    };
+
+    /**
+     * Drops the results a longer query would refine, on the search thread so
+     * it is ordered with the searches. A search that was running while the
+     * vault changed completes before the drop.
+     */
+    private final VaultEntryModel.ChangeListener changeListener = new VaultEntryModel.ChangeListener() {
+        @Override
+        public void entriesSaved(long owner, List<VaultEntry> entries) {
+            if (owner == ownerId) {
+                forgetCompleted();
+            }
+        }
+
+        @Override
+        public void entriesDeleted(long owner, long[] ids) {
+            if (owner == ownerId) {
+                forgetCompleted();
+            }
+        }
+    };
+
+    private SearchTask running;
+
+    /**
+     * The last search that ran to completion, which a longer query refines.
+     * Only accessed on the search thread.
+     */
+    private String[] completedQuery;
+    private List<Candidate> completedMatches;
+
+    private volatile long lastSearchNanos;
+
+    public VaultSearchController(VaultListView view, long ownerId) {
+        this.view = view;
+        this.ownerId = ownerId;
+        this.searcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-vault-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        JTextField field = view.getSearchField();
+        field.getDocument().addDocumentListener(queryListener);
+        model.addChangeListener(changeListener);
+    }
+
+    /**
+     * Returns how long the last finished search took, from the keystroke to
+     * the last batch being handed to the EDT.
+     */
+    public long getLastSearchNanos() {
+        return lastSearchNanos;
+    }
+
+    /**
+     * Starts a search, cancelling the one still running. An empty query
+     * shows the whole vault again. Must be called on the EDT.
+     *
+     * @param text the query as typed
+     */
+    public void search(String text) {
+        if (running != null) {
+            running.cancelled = true;
+        }
+
+        String[] query = VaultEntryModel.tokenize(text);
+        if (query.length == 0) {
+            running = null;
+            view.showAllEntries();
+            return;
+        }
+
+        results.clear();
+        view.showSearchResults(results);
+
+        SearchTask task = new SearchTask(query);
+        running = task;
+        searcher.execute(task);
+    }
+
+    /**
+     * Stops searching and detaches from the search field.
+     */
+    public void dispose() {
+        if (running != null) {
+            running.cancelled = true;
+        }
+        view.getSearchField().getDocument().removeDocumentListener(queryListener);
+        model.removeChangeListener(changeListener);
+        searcher.shutdownNow();
+    }
+
+    private void forgetCompleted() {
+        try {
+            searcher.execute(() -> {
+                completedQuery = null;
+                completedMatches = null;
+            });
+        } catch (RejectedExecutionException e) {
+            // Disposed, nothing is refined anymore.
+        }
+    }
+
+
+    /**
+     * An entry with the words a query is matched against.
+     */
+    private record Candidate(VaultEntry entry, String[] words) {
+        static Candidate of(VaultEntry entry) {
+            StringBuilder text = new StringBuilder(64).append(entry.title());
+            for (String field : new String[] { entry.username(), entry.url(), entry.tags(), entry.notes() }) {
+                if (field != null) {
+                    text.append(' ').append(field);
+                }
+            }
+            return new Candidate(entry, VaultEntryModel.tokenize(text.toString()));
+        }
+    }
+
+    private final class SearchTask implements Runnable {
+        private final String[] query;
+        private final long startNanos = System.nanoTime();
+
+        private volatile boolean cancelled;
+
+        private final List<Candidate> matches = new ArrayList<>();
+        private List<VaultEntry> batch = new ArrayList<>(BATCH_SIZE);
+        private long lastPublishNanos = startNanos;
+
+        SearchTask(String[] query) {
+            this.query = query;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            // Every word of the last query starts a word of this one, so its
+            // matches include all matches of this query.
+            boolean completed;
+            if (completedQuery != null && VaultEntryModel.matchesFullText(completedQuery, query)) {
+                completed = refine(completedMatches);
+            } else {
+                completed = model.searchFullText(ownerId, String.join(" ", query), () -> cancelled,
+                    entry -> offer(Candidate.of(entry), false));
+            }
+            if (!completed || cancelled) {
+                return;
+            }
+
+            publish();
+            completedQuery = query;
+            completedMatches = matches;
+            lastSearchNanos = System.nanoTime() - startNanos;
+        }
+
+        private boolean refine(List<Candidate> candidates) {
+            for (int i = 0; i < candidates.size(); i++) {
+                if ((i & 1023) == 0 && cancelled) {
+                    return false;
+                }
+                offer(candidates.get(i), true);
+            }
+            return true;
+        }
+
+        private void offer(Candidate candidate, boolean filter) {
+            if (filter && !VaultEntryModel.matchesFullText(query, candidate.words())) {
+                return;
+            }
+            matches.add(candidate);
+            batch.add(candidate.entry());
+
+            if (batch.size() >= BATCH_SIZE || System.nanoTime() - lastPublishNanos >= PUBLISH_INTERVAL_NANOS) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            lastPublishNanos = System.nanoTime();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<VaultEntry> published = batch;
+            batch = new ArrayList<>(BATCH_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (running == this && !cancelled) {
+                    results.append(published);
+                }
+            });
+        }
+    }
+}
@@ -17,24 +17,95 @@
  * Copyright (C) 2025 JohnLesterDev
  */
 
+
 package dev.johnlester.seraphim.controllers;
 
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import dev.johnlester.seraphim.utils.MonitorUtils;
+import dev.johnlester.seraphim.utils.debug.FrameMonitor;
+import dev.johnlester.seraphim.utils.effect.AnimationScheduler;
+import dev.johnlester.seraphim.views.BaseView;
 
 /**
  * Class that manages the main window of the application.
  * 
+ * Views can be registered by key with a {@link ViewFactory}. A registered
+ * view is built the first time it is needed and reused afterwards, and
+ * {@link #prewarm(String)} builds the likely next view ahead of time: its
+ * resources are loaded on a background thread and the view itself is built
+ * on the EDT once the UI is idle. Views that have not been shown for a while
+ * are evicted, as are the least recently shown ones beyond
+ * {@link #setMaxCachedViews(int)}.
+ * 
  * @author JohnLesterDev
  */
 public class ViewManager {
+    /**
+     * Views not shown for this long are evicted on the next switch.
+     */
+    private static final long EVICT_AFTER_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * How long the EDT has to be idle before a prewarmed view is built.
+     */
+    private static final int PREWARM_IDLE_MILLIS = 250;
+
     /**
      * The main window of the application.
      */
     private static JFrame mainFrame;
 
+    /**
+     * Registered views by key.
+     */
+    private static final Map<String, ViewEntry> views = new LinkedHashMap<>();
+
+    private static ExecutorService preloadExecutor;
+    private static String currentKey;
+    private static int maxCachedViews = 4;
+
+    /**
+     * Builds a registered view.
+     */
+    public interface ViewFactory {
+        /**
+         * Builds the view. Always called on the EDT.
+         * 
+         * @param frame The main window.
+         * @return the new view
+         */
+        JPanel create(JFrame frame);
+
+        /**
+         * Loads whatever the view needs that is not Swing, e.g. decoded images.
+         * Called on a background thread when the view is prewarmed.
+         */
+        default void preload() {}
+    }
+
+    private static final class ViewEntry {
+        private final ViewFactory factory;
+        private JPanel view;
+        private long lastUsedNanos;
+        private boolean prewarming;
+
+        private ViewEntry(ViewFactory factory) {
+            this.factory = factory;
+        }
+    }
+
     /**
      * Initializes the ViewManager by setting the main window.
      * 
@@ -44,6 +115,117 @@ public class ViewManager {
         mainFrame = frame;
     }
 
+    /**
+     * Registers a view under a key. The view is not built until it is needed
+     * or prewarmed.
+     * 
+     * @param key The key of the view.
+     * @param factory Builds the view.
+     */
+    public static void register(String key, ViewFactory factory) {
+        views.put(key, new ViewEntry(factory));
+    }
+
+    /**
+     * Returns the view registered under a key, building it if needed.
+     * 
+     * @param key The key of the view.
+     * @return the view
+     * @throws IllegalArgumentException if no view is registered under the key
+     */
+    public static JPanel getView(String key) {
+        ViewEntry entry = requireEntry(key);
+
+        if (entry.view == null) {
+            build(entry);
+        }
+        return entry.view;
+    }
+
+    /**
+     * Returns whether the view registered under a key is already built.
+     * 
+     * @param key The key of the view.
+     * @return true if the view is built
+     */
+    public static boolean isBuilt(String key) {
+        ViewEntry entry = views.get(key);
+        return entry != null && entry.view != null;
+    }
+
+    /**
+     * Switches to the view registered under a key.
+     * 
+     * @param key The key of the view.
+     * @param windowTitle The new title of the window.
+     */
+    public static void switchTo(String key, String windowTitle) {
+        JPanel view = getView(key);
+        markShown(key);
+        switchTo(view, windowTitle);
+    }
+
+    /**
+     * Switches to the view registered under a key and centers the window on a
+     * specified monitor.
+     * 
+     * @param key The key of the view.
+     * @param windowTitle The new title of the window.
+     * @param monitorIndex The index of the monitor to center the window on.
+     */
+    public static void switchTo(String key, String windowTitle, int monitorIndex) {
+        JPanel view = getView(key);
+        markShown(key);
+        switchTo(view, windowTitle, monitorIndex);
+    }
+
+    /**
+     * Builds the view registered under a key ahead of time. Its resources are
+     * preloaded on a background thread, then the view is built on the EDT
+     * once no animation is running and no events are waiting.
+     * 
+     * @param key The key of the view.
+     */
+    public static void prewarm(String key) {
+        ViewEntry entry = requireEntry(key);
+        if (entry.view != null || entry.prewarming) {
+            return;
+        }
+        entry.prewarming = true;
+
+        getPreloadExecutor().execute(() -> {
+            try {
+                entry.factory.preload();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            SwingUtilities.invokeLater(() -> buildWhenIdle(key, entry));
+        });
+    }
+
+    /**
+     * Drops the built view registered under a key. It is built again the
+     * next time it is needed. The current view is never evicted.
+     * 
+     * @param key The key of the view.
+     */
+    public static void evict(String key) {
+        ViewEntry entry = views.get(key);
+        if (entry != null && entry.view != null && !key.equals(currentKey)) {
+            drop(entry);
+        }
+    }
+
+    /**
+     * Sets how many built views are kept, including the current one.
+     * 
+     * @param max The maximum number of built views.
+     */
+    public static void setMaxCachedViews(int max) {
+        maxCachedViews = Math.max(1, max);
+        evictStale();
+    }
+
     /**
      * Switches the content pane of the main window to a new view.
      * 
@@ -51,12 +233,8 @@ public class ViewManager {
      * @param windowTitle The new title of the window.
      */
     public static void switchTo(JPanel newView, String windowTitle) {
-        mainFrame.setTitle(windowTitle);
-        mainFrame.setContentPane(newView);
-
+        showView(newView, windowTitle);
         
-        mainFrame.revalidate();
-        mainFrame.pack();
         mainFrame.repaint();
     }
 
@@ -69,14 +247,137 @@ public class ViewManager {
      * @param monitorIndex The index of the monitor to center the window on.
      */
     public static void switchTo(JPanel newView, String windowTitle, int monitorIndex) {
+        boolean resized = showView(newView, windowTitle);
+
+        if (resized) {
+            MonitorUtils.centerFrameOnMonitor(mainFrame, monitorIndex);
+        }
+        
+        mainFrame.repaint();
+    }
+
+    /**
+     * Sets the view as the content pane and packs the window only if the new
+     * view needs a different size than the current one.
+     * 
+     * @return true if the window was packed
+     */
+    private static boolean showView(JPanel newView, String windowTitle) {
+        Dimension previousSize = mainFrame.getContentPane().getSize();
+
         mainFrame.setTitle(windowTitle);
         mainFrame.setContentPane(newView);
-        
+
+        if (newView instanceof BaseView baseView) {
+            baseView.onShow();
+        }
+
         mainFrame.revalidate();
-        mainFrame.pack();
 
-        MonitorUtils.centerFrameOnMonitor(mainFrame, monitorIndex);
-        
-        mainFrame.repaint();
+        if (!mainFrame.isDisplayable() || !newView.getPreferredSize().equals(previousSize)) {
+            mainFrame.pack();
+            return true;
+        }
+        return false;
+    }
+
+    private static void build(ViewEntry entry) {
+        entry.view = entry.factory.create(mainFrame);
+        entry.lastUsedNanos = System.nanoTime();
+        evictStale();
+    }
+
+    private static void markShown(String key) {
+        views.get(key).lastUsedNanos = System.nanoTime();
+        currentKey = key;
+        evictStale();
+    }
+
+    /**
+     * Evicts views not built or shown within EVICT_AFTER_NANOS, then the
+     * least recently used ones until at most maxCachedViews are built.
+     */
+    private static void evictStale() {
+        long now = System.nanoTime();
+        int built = 0;
+
+        for (Map.Entry<String, ViewEntry> mapEntry : views.entrySet()) {
+            ViewEntry entry = mapEntry.getValue();
+            if (entry.view == null) {
+                continue;
+            }
+
+            if (!mapEntry.getKey().equals(currentKey) && now - entry.lastUsedNanos > EVICT_AFTER_NANOS) {
+                drop(entry);
+            } else {
+                built++;
+            }
+        }
+
+        while (built > maxCachedViews) {
+            ViewEntry oldest = null;
+            for (Map.Entry<String, ViewEntry> mapEntry : views.entrySet()) {
+                ViewEntry entry = mapEntry.getValue();
+                if (entry.view == null || mapEntry.getKey().equals(currentKey)) {
+                    continue;
+                }
+                if (oldest == null || entry.lastUsedNanos < oldest.lastUsedNanos) {
+                    oldest = entry;
+                }
+            }
+
+            if (oldest == null) {
+                break;
+            }
+            drop(oldest);
+            built--;
+        }
+    }
+
+    private static void drop(ViewEntry entry) {
+        JPanel view = entry.view;
+        entry.view = null;
+        if (view instanceof BaseView baseView) {
+            baseView.onEvict();
+        }
+    }
+
+    private static void buildWhenIdle(String key, ViewEntry entry) {
+        if (views.get(key) != entry || entry.view != null) {
+            entry.prewarming = false;
+            return;
+        }
+
+        // The debug overlay may have pushed a queue that now holds the events.
+        EventQueue queue = FrameMonitor.getEventQueue();
+        if (!AnimationScheduler.isIdle() || queue.peekEvent() != null) {
+            Timer retry = new Timer(PREWARM_IDLE_MILLIS, e -> buildWhenIdle(key, entry));
+            retry.setRepeats(false);
+            retry.start();
+            return;
+        }
+
+        entry.prewarming = false;
+        build(entry);
+    }
+
+    private static ViewEntry requireEntry(String key) {
+        ViewEntry entry = views.get(key);
+        if (entry == null) {
+            throw new IllegalArgumentException("No view registered under: " + key);
+        }
+        return entry;
+    }
+
+    private static synchronized ExecutorService getPreloadExecutor() {
+        if (preloadExecutor == null) {
+            preloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Seraphim view preloader");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return preloadExecutor;
     }
 }
@@ -21,16 +21,37 @@
 
 package dev.johnlester.seraphim.models;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
+import javax.crypto.SecretKey;
+
+import dev.johnlester.seraphim.utils.LoginThrottle;
+import dev.johnlester.seraphim.utils.SecretArena;
+import dev.johnlester.seraphim.utils.SecretArena.Secret;
 import dev.johnlester.seraphim.utils.SecuredUtils;
+import dev.johnlester.seraphim.utils.VaultCrypto;
 
 
 public class AuthenticationModel extends BaseModel {
+    /**
+     * The source of logins from this application's own window.
+     */
+    public static final String SOURCE_APP = "app";
+
+    /**
+     * The source of logins from the command line. Each command is a new
+     * process, so its attempts are counted in the database by the
+     * {@link LoginAttemptModel}.
+     */
+    public static final String SOURCE_CLI = "cli";
+
     private static AuthenticationModel instance;
 
     public static synchronized AuthenticationModel getInstance() {
@@ -40,9 +61,10 @@ public class AuthenticationModel extends BaseModel {
         return instance;
     }
 
+    private final LoginThrottle throttle = LoginThrottle.getInstance();
+
     private AuthenticationModel() {
         super();
-        initializeTable();
     }
 
 
@@ -80,6 +102,21 @@ public class AuthenticationModel extends BaseModel {
 
 
     public boolean createUser(String username, String password) {
+        try (Secret secret = SecretArena.getInstance().allocate(password.toCharArray())) {
+            return createUser(username, secret);
+        }
+    }
+
+    /**
+     * Creates a user with a password held in the {@link SecretArena}, which
+     * is never copied into a String. The stored verifier is computed from the
+     * vault key, see {@link VaultCrypto#verifier(SecretKey)}.
+     *
+     * @param username the new username
+     * @param password the password, not closed by this method
+     * @return true if the user was created
+     */
+    public boolean createUser(String username, Secret password) {
         if (usernameExists(username)) {
             throw new IllegalArgumentException("Username already exists.");
         }
@@ -87,7 +124,7 @@ public class AuthenticationModel extends BaseModel {
         String salt = SecuredUtils.generateSalt();
     
         try {
-            String passwordHash = SecuredUtils.hashSHA256(password + salt);
+            String passwordHash = VaultCrypto.verifier(VaultCrypto.deriveKey(password, salt));
     
             String sql = "INSERT INTO " + defineTableName() + 
             " (username, passwordHash, passwordSalt, pin, pinSalt, isPinSet) VALUES (?, ?, ?, ?, ?, ?)";
@@ -101,7 +138,7 @@ public class AuthenticationModel extends BaseModel {
             };
     
             return SQLHelper.executePreparedUpdate(sql, params) > 0;    
-        } catch (NoSuchAlgorithmException | SQLException e) {
+        } catch (GeneralSecurityException | SQLException e) {
             e.printStackTrace();
             throw new RuntimeException("Error creating user.", e);
         }
@@ -109,6 +146,19 @@ public class AuthenticationModel extends BaseModel {
 
 
     public void createPIN(String username, String pin) {
+        try (Secret secret = SecretArena.getInstance().allocate(pin.toCharArray())) {
+            createPIN(username, secret);
+        }
+    }
+
+    /**
+     * Sets the PIN of a user from the {@link SecretArena}, which is hashed
+     * without being copied into a String.
+     *
+     * @param username the username
+     * @param pin the PIN, not closed by this method
+     */
+    public void createPIN(String username, Secret pin) {
         if (pin.length() != 6) {
             throw new IllegalArgumentException("PIN must be exactly 6 digits.");
         }
@@ -116,7 +166,7 @@ public class AuthenticationModel extends BaseModel {
         String salt = SecuredUtils.generateSalt();
     
         try {
-            String pinHash = SecuredUtils.hashSHA256(pin + salt);
+            String pinHash = SecuredUtils.hashWithSalt(pin, salt);
     
             String sql = "UPDATE " + defineTableName() + " SET pin = ?, pinSalt = ?, isPinSet = TRUE WHERE username = ?";
             SQLHelper.executePreparedUpdate(sql, new Object[] { pinHash, salt, username });
@@ -129,22 +179,168 @@ public class AuthenticationModel extends BaseModel {
     
     
     public Boolean validateCredentials(String username, String password) {
+        try (Secret secret = SecretArena.getInstance().allocate(password.toCharArray())) {
+            return validateCredentials(username, secret);
+        }
+    }
+
+    /**
+     * Checks a password held in the {@link SecretArena}, which is never
+     * copied into a String.
+     *
+     * @param username the username
+     * @param password the password, not closed by this method
+     * @return whether the password is correct, or null if the check failed
+     * @throws LoginThrottle.ThrottledException if too many wrong passwords
+     *         were given for the user from this application
+     */
+    public Boolean validateCredentials(String username, Secret password) {
+        return validateCredentials(username, password, SOURCE_APP);
+    }
+
+    /**
+     * Checks a password, throttled per username and source. A blocked
+     * attempt is rejected before the database is read or anything is hashed.
+     *
+     * @param username the username
+     * @param password the password, not closed by this method
+     * @param source where the attempt comes from, e.g. "agent" or "cli"
+     * @return whether the password is correct, or null if the check failed
+     * @throws LoginThrottle.ThrottledException if too many wrong passwords
+     *         were given for the user from the source
+     */
+    public Boolean validateCredentials(String username, Secret password, String source) {
         try {
-            String sql = "SELECT passwordHash, passwordSalt FROM " + defineTableName() + " WHERE username = ?";
-            Object[] params = new Object[] { username };
-            List<Map<String, Object>> result = SQLHelper.preparedQueryToList(sql, params);
+            return authenticate(username, password, source) != null;
+        } catch (GeneralSecurityException | SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Checks a password and returns the vault key derived while checking it,
+     * so unlocking costs a single key derivation. Throttled like
+     * {@link #validateCredentials(String, Secret, String)}.
+     *
+     * @param username the username
+     * @param password the password, not closed by this method
+     * @param source where the attempt comes from, e.g. "agent" or "cli"
+     * @return the vault key, or null if the username or password is wrong
+     * @throws LoginThrottle.ThrottledException if too many wrong passwords
+     *         were given for the user from the source
+     */
+    public SecretKey unlockVault(String username, Secret password, String source) {
+        try {
+            return authenticate(username, password, source);
+        } catch (GeneralSecurityException | SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error unlocking the vault of user: " + username, e);
+        }
+    }
+
+    /**
+     * Derives the vault key from the password and checks it against the
+     * stored verifier. A user still stored with a plain SHA-256 hash is
+     * checked against it once, and given a verifier on success. Secrets
+     * sealed before they were bound to their rows are resealed.
+     * 
+     * The attempt is counted by the throttle before the database is read,
+     * so one that ends in an error stays counted as a failure.
+     *
+     * @return the vault key, or null if the username or password is wrong
+     */
+    private SecretKey authenticate(String username, Secret password, String source)
+            throws GeneralSecurityException, SQLException {
+        LoginThrottle.Attempt attempt = SOURCE_CLI.equals(source)
+            ? LoginAttemptModel.getInstance().begin(username, source, throttle)
+            : throttle.begin(username, source);
+
+        String sql = "SELECT id, passwordHash, passwordSalt FROM " + defineTableName() + " WHERE username = ?";
+        Object[] params = new Object[] { username };
+        List<Map<String, Object>> result = SQLHelper.preparedQueryToList(sql, params);
+
+        if (result.isEmpty()) {
+            // Unknown users count too, guessing usernames is throttled
+            // like guessing passwords.
+            attempt.failed();
+            return null;
+        }
+
+        long userId = ((Number) result.get(0).get("id")).longValue();
+        String passwordHash = (String) result.get(0).get("passwordHash");
+        String passwordSalt = (String) result.get(0).get("passwordSalt");
+
+        SecretKey key;
+        if (passwordHash.startsWith(VaultCrypto.VERIFIER_PREFIX)) {
+            key = VaultCrypto.deriveKey(password, passwordSalt);
+            if (!VaultCrypto.matchesVerifier(key, passwordHash)) {
+                key = null;
+            }
+        } else if (matchesLegacyHash(password, passwordSalt, passwordHash)) {
+            key = VaultCrypto.deriveKey(password, passwordSalt);
+            String upgradeSql = "UPDATE " + defineTableName() + " SET passwordHash = ? WHERE username = ?";
+            SQLHelper.executePreparedUpdate(upgradeSql, new Object[] { VaultCrypto.verifier(key), username });
+        } else {
+            key = null;
+        }
+
+        if (key == null) {
+            attempt.failed();
+            return null;
+        }
+        attempt.succeeded();
+        VaultEntryModel.getInstance().resealLegacySecrets(userId, key);
+        return key;
+    }
+
+    private static boolean matchesLegacyHash(Secret password, String salt, String passwordHash)
+            throws NoSuchAlgorithmException {
+        return MessageDigest.isEqual(
+            SecuredUtils.hashWithSalt(password, salt).getBytes(StandardCharsets.US_ASCII),
+            passwordHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+
+    /**
+     * Returns the id of a user, which owns the rows of the vault tables.
+     *
+     * @param username the username
+     * @return the id, or null if the user does not exist
+     */
+    public Long getUserId(String username) {
+        try {
+            String sql = "SELECT id FROM " + defineTableName() + " WHERE username = ?";
+            List<Map<String, Object>> result = SQLHelper.preparedQueryToList(sql, new Object[] { username });
 
             if (result.isEmpty()) {
-                return false;
+                return null;
             }
+            return ((Number) result.get(0).get("id")).longValue();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-            String passwordHash = (String) result.get(0).get("passwordHash");
-            String passwordSalt = (String) result.get(0).get("passwordSalt");
 
-            String providedPasswordHash = SecuredUtils.hashWithSalt(password, passwordSalt);
+    /**
+     * Returns the password salt of a user, which also salts the vault key
+     * and its verifier.
+     *
+     * @param username the username
+     * @return the salt, or null if the user does not exist
+     */
+    public String getPasswordSalt(String username) {
+        try {
+            String sql = "SELECT passwordSalt FROM " + defineTableName() + " WHERE username = ?";
+            List<Map<String, Object>> result = SQLHelper.preparedQueryToList(sql, new Object[] { username });
 
-            return passwordHash.equals(providedPasswordHash);
-        } catch (NoSuchAlgorithmException | SQLException e) {
+            if (result.isEmpty()) {
+                return null;
+            }
+            return (String) result.get(0).get("passwordSalt");
+        } catch (SQLException e) {
             e.printStackTrace();
             return null;
         }
@@ -152,6 +348,21 @@ public class AuthenticationModel extends BaseModel {
 
 
     public Boolean validatePIN(String username, String pin) {
+        try (Secret secret = SecretArena.getInstance().allocate(pin.toCharArray())) {
+            return validatePIN(username, secret);
+        }
+    }
+
+    /**
+     * Checks a PIN held in the {@link SecretArena}. Reopening a vault with
+     * its PIN shortly after a login does not need this, see
+     * {@link QuickUnlock}.
+     *
+     * @param username the username
+     * @param pin the PIN, not closed by this method
+     * @return whether the PIN is set and correct, or null if the check failed
+     */
+    public Boolean validatePIN(String username, Secret pin) {
         try {
             String sql = "SELECT pin, pinSalt FROM " + defineTableName() + " WHERE username = ?";
             Object[] params = new Object[] { username };
@@ -163,6 +374,9 @@ public class AuthenticationModel extends BaseModel {
 
             String pinHash = (String) result.get(0).get("pin");
             String pinSalt = (String) result.get(0).get("pinSalt");
+            if (pinHash == null || pinSalt == null) {
+                return false;
+            }
 
             String providedPinHash = SecuredUtils.hashWithSalt(pin, pinSalt);
 
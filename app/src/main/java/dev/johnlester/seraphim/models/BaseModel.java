@@ -20,7 +20,8 @@
 
 package dev.johnlester.seraphim.models;
 
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -29,9 +30,33 @@ import java.sql.SQLException;
  * Read, Update, Delete) operations on the database and for defining
  * the table schema.
  * 
+ * Models only declare their table, indexes and migrations; {@link Schema}
+ * creates and upgrades the tables of all models at once.
+ * 
  * @author JohnLesterDev
  */
 public abstract class BaseModel {
+    /**
+     * A secondary index of the table of a model.
+     * 
+     * @param name the index name, unique in the database
+     * @param columns the indexed columns or expressions, in order
+     */
+    public record Index(String name, String columns) {
+    }
+
+    /**
+     * Statements that bring the tables of a model from the previous schema
+     * version to {@code version}. Table creation never needs one, only
+     * changes to tables that already exist do.
+     * 
+     * @param version the database version this migration upgrades to, at
+     *                most {@link Schema#VERSION}
+     * @param statements the statements, run in order
+     */
+    public record Migration(int version, String... statements) {
+    }
+
     protected String tableSchema;
     protected String tableName;
 
@@ -66,23 +91,73 @@ public abstract class BaseModel {
     }
 
     /**
-     * Creates the table associated with this model if it does not exist.
+     * Returns the name of the FTS5 table indexing the full-text columns of
+     * this model.
      * 
-     * This method calls SQLHelper.createTableIfNotExists() to create the
-     * table associated with this model. If the table already exists, this
-     * method does not do anything.
+     * @return the full-text table name as a String
+     */
+    public String getFullTextTableName() {
+        return SQLHelper.fullTextTableName(tableName);
+    }
+
+    /**
+     * Returns the statements creating the table, its indexes and its
+     * full-text index as declared by this model, each one a no-op if the
+     * object already exists.
      * 
-     * @throws SQLException if there is an error creating the table
+     * @param fullTextIndexExists whether the full-text table exists, so it
+     *                            does not need to be filled from the table
+     * @return the statements in the order they must run
      */
-    public void initializeTable() {
-        try {
-            SQLHelper.createTableIfNotExists(tableName, tableSchema);
-        } catch (SQLException e) {
-            e.printStackTrace();
+    List<String> schemaStatements(boolean fullTextIndexExists) {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE IF NOT EXISTS " + tableName + " (" + tableSchema + ")");
+        for (Index index : defineIndexes()) {
+            statements.add("CREATE INDEX IF NOT EXISTS " + index.name() + " ON " + tableName + " (" + index.columns() + ")");
+        }
+
+        String[] fullTextColumns = defineFullTextColumns();
+        if (fullTextColumns.length > 0) {
+            statements.addAll(SQLHelper.fullTextIndexStatements(tableName, fullTextColumns));
+            if (!fullTextIndexExists) {
+                statements.add(SQLHelper.fullTextRebuildStatement(tableName));
+            }
         }
+        return statements;
     }
 
     protected abstract String defineTableName();
     protected abstract String defineTableSchema();
 
+    /**
+     * Returns the secondary indexes of the table. Models without secondary
+     * indexes return an empty array.
+     * 
+     * @return the index definitions
+     */
+    protected Index[] defineIndexes() {
+        return new Index[0];
+    }
+
+    /**
+     * Returns the changes made to the table since the first schema version,
+     * in any order. Models whose table never changed return an empty array.
+     * 
+     * @return the migrations of this model
+     */
+    protected Migration[] defineMigrations() {
+        return new Migration[0];
+    }
+
+    /**
+     * Returns the columns kept in a full-text index, which triggers keep in
+     * sync with the table. The table must have an INTEGER PRIMARY KEY named
+     * id. Models without full-text search return an empty array.
+     * 
+     * @return the indexed column names, in the order of the index
+     */
+    protected String[] defineFullTextColumns() {
+        return new String[0];
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.util.Arrays;
+
+
+/**
+ * A vault entry with its decrypted secret.
+ * 
+ * @param entry the metadata of the entry, without its sealed secret
+ * @param secret the plaintext secret, to be cleared with {@link #wipe()}
+ *               when no longer needed
+ * 
+ * @author JohnLesterDev
+ */
+public record DecryptedEntry(VaultEntry entry, char[] secret) {
+
+    /**
+     * Overwrites the secret with zeros.
+     */
+    public void wipe() {
+        Arrays.fill(secret, '\0');
+    }
+}
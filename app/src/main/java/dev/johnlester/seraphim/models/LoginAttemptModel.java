@@ -0,0 +1,166 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import dev.johnlester.seraphim.utils.LoginThrottle;
+
+
+/**
+ * The login throttle of sources whose attempts come from short-lived
+ * processes, such as the command line, where a {@link LoginThrottle} in
+ * memory would start empty with every command.
+ * 
+ * One row per username and source holds the failed attempts in a row, the
+ * time the pair is blocked until and the time of its last attempt, in epoch
+ * milliseconds. The delays are those of the {@link LoginThrottle} given.
+ * Like there, an attempt is counted as a failure when it begins and a
+ * correct password deletes the row; the check and the count run in one
+ * {@code BEGIN IMMEDIATE} transaction, so concurrent processes take turns.
+ * 
+ * @author JohnLesterDev
+ */
+public class LoginAttemptModel extends BaseModel {
+    private static LoginAttemptModel instance;
+
+    public static synchronized LoginAttemptModel getInstance() {
+        if (instance == null) {
+            instance = new LoginAttemptModel();
+        }
+        return instance;
+    }
+
+    private LoginAttemptModel() {
+        super();
+    }
+
+
+    @Override
+    protected String defineTableName() {
+        return "LoginAttempts";
+    }
+
+    @Override
+    protected String defineTableSchema() {
+        return "username TEXT NOT NULL,\n" +
+            "source TEXT NOT NULL,\n" +
+            "attempts INTEGER NOT NULL,\n" +
+            "blockedUntil INTEGER NOT NULL,\n" +
+            "lastAttemptAt INTEGER NOT NULL,\n" +
+            "PRIMARY KEY (username, source)";
+    }
+
+
+    /**
+     * Starts a login, counting it as a failure until it succeeds, or rejects
+     * it if the pair is blocked. Pairs forgotten by the throttle are deleted
+     * on the way.
+     *
+     * @param username the username tried
+     * @param source where the attempt comes from, e.g. "cli"
+     * @param throttle the throttle whose delays apply
+     * @return the attempt, whose outcome the caller reports
+     * @throws LoginThrottle.ThrottledException if the username and source
+     *         are blocked
+     */
+    public LoginThrottle.Attempt begin(String username, String source, LoginThrottle throttle) {
+        try (Connection conn = SQLHelper.connect(); Statement stmt = conn.createStatement()) {
+            // IMMEDIATE takes the write lock before the row is read, so no
+            // other process can pass the same check in between.
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                long now = System.currentTimeMillis();
+                String sweepSql = "DELETE FROM " + defineTableName() +
+                    " WHERE lastAttemptAt <= ? AND blockedUntil <= ?";
+                try (PreparedStatement sweep = conn.prepareStatement(sweepSql)) {
+                    sweep.setLong(1, now - throttle.getForgetMillis());
+                    sweep.setLong(2, now);
+                    sweep.executeUpdate();
+                }
+
+                int attempts = 0;
+                long blockedUntil = 0;
+                String selectSql = "SELECT attempts, blockedUntil FROM " + defineTableName() +
+                    " WHERE username = ? AND source = ?";
+                try (PreparedStatement select = conn.prepareStatement(selectSql)) {
+                    select.setString(1, username);
+                    select.setString(2, source);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (rs.next()) {
+                            attempts = rs.getInt("attempts");
+                            blockedUntil = rs.getLong("blockedUntil");
+                        }
+                    }
+                }
+
+                if (blockedUntil > now) {
+                    throw new LoginThrottle.ThrottledException(blockedUntil - now);
+                }
+
+                attempts++;
+                long delay = throttle.getDelayMillis(attempts);
+                String upsertSql = "INSERT OR REPLACE INTO " + defineTableName() +
+                    " (username, source, attempts, blockedUntil, lastAttemptAt) VALUES (?, ?, ?, ?, ?)";
+                try (PreparedStatement upsert = conn.prepareStatement(upsertSql)) {
+                    upsert.setString(1, username);
+                    upsert.setString(2, source);
+                    upsert.setInt(3, attempts);
+                    upsert.setLong(4, delay > 0 ? now + delay : blockedUntil);
+                    upsert.setLong(5, now);
+                    upsert.executeUpdate();
+                }
+
+                stmt.execute("COMMIT");
+            } catch (SQLException | RuntimeException e) {
+                stmt.execute("ROLLBACK");
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error counting the login attempt of user: " + username, e);
+        }
+
+        return new LoginThrottle.Attempt() {
+            @Override
+            public void failed() {
+                // Counted when the attempt began.
+            }
+
+            @Override
+            public void succeeded() {
+                forget(username, source);
+            }
+        };
+    }
+
+    private void forget(String username, String source) {
+        try {
+            String sql = "DELETE FROM " + defineTableName() + " WHERE username = ? AND source = ?";
+            SQLHelper.executePreparedUpdate(sql, new Object[] { username, source });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import dev.johnlester.seraphim.utils.SecretArena.Secret;
+import dev.johnlester.seraphim.utils.VaultCrypto;
+
+
+/**
+ * Reopens a vault with its PIN shortly after it was opened with the master
+ * password.
+ * 
+ * After a full login, the vault key is kept in memory sealed under a key
+ * derived from the PIN. A PIN unlock then only derives that key and opens
+ * the seal: no database query, no master password hash and no vault key
+ * derivation. A wrong PIN fails the seal's authentication tag.
+ * 
+ * The sealed key is dropped, and the master password is required again,
+ * after {@code maxAttempts} wrong PINs in a row, when the vault was not used
+ * for the idle window, or when the absolute timeout since the master
+ * password was checked has passed, whichever comes first.
+ * 
+ * @author JohnLesterDev
+ */
+public final class QuickUnlock {
+    /**
+     * PBKDF2 iterations of the PIN key. A six digit PIN cannot resist a
+     * search of its own; the attempt limit and the short life of the sealed
+     * key in memory protect it, so this only has to keep an unlock fast.
+     */
+    private static final int PIN_KEY_ITERATIONS = 10_000;
+    private static final int PIN_KEY_BITS = 256;
+    private static final int SALT_BYTES = 16;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    /**
+     * The outcome of a PIN unlock.
+     */
+    public enum Status {
+        /** The PIN was right, the key is in the result. */
+        UNLOCKED,
+        /** The PIN was wrong, more attempts are left. */
+        WRONG_PIN,
+        /** No sealed key for the user, the master password is required. */
+        PASSWORD_REQUIRED
+    }
+
+    /**
+     * @param status the outcome
+     * @param userId the id of the user, when unlocked
+     * @param key the vault key, when unlocked
+     * @param remainingAttempts the attempts left before the PIN is disabled
+     */
+    public record Result(Status status, long userId, SecretKey key, int remainingAttempts) {
+    }
+
+    private final long idleWindowNanos;
+    private final long absoluteTimeoutNanos;
+    private final int maxAttempts;
+
+    private String username;
+    private long userId;
+    private byte[] salt;
+    private byte[] sealedKey;
+    private long armedAtNanos;
+    private long lastUnlockNanos;
+    private int failedAttempts;
+
+    /**
+     * Constructs a new quick unlock that holds no key yet.
+     * 
+     * @param idleWindow how long after the last use of the vault a PIN is
+     *                   accepted
+     * @param absoluteTimeout how long after the master password a PIN is
+     *                        accepted, however often it is used
+     * @param maxAttempts the wrong PINs in a row that disable the PIN
+     */
+    public QuickUnlock(Duration idleWindow, Duration absoluteTimeout, int maxAttempts) {
+        this.idleWindowNanos = idleWindow.toNanos();
+        this.absoluteTimeoutNanos = absoluteTimeout.toNanos();
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Seals the vault key of a user under a PIN, replacing any key held
+     * before. Call only after the master password was checked.
+     *
+     * @param username the user
+     * @param userId the id of the user
+     * @param vaultKey the vault key derived from the master password
+     * @param pin the PIN, not closed by this method
+     * @throws GeneralSecurityException if the key cannot be sealed
+     */
+    public synchronized void arm(String username, long userId, SecretKey vaultKey, Secret pin)
+            throws GeneralSecurityException {
+        disarm();
+
+        byte[] newSalt = new byte[SALT_BYTES];
+        random.nextBytes(newSalt);
+        byte[] encoded = vaultKey.getEncoded();
+        try {
+            sealedKey = VaultCrypto.seal(derivePinKey(pin, newSalt), encoded, binding(username, userId));
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+
+        this.username = username;
+        this.userId = userId;
+        this.salt = newSalt;
+        this.armedAtNanos = System.nanoTime();
+        this.lastUnlockNanos = armedAtNanos;
+        this.failedAttempts = 0;
+    }
+
+    /**
+     * Opens the vault key with a PIN.
+     *
+     * @param username the user
+     * @param pin the PIN, not closed by this method
+     * @return the outcome, with the key if the PIN was right
+     * @throws GeneralSecurityException if the PIN key cannot be derived
+     */
+    public synchronized Result unlock(String username, Secret pin) throws GeneralSecurityException {
+        if (!isArmed(username)) {
+            return new Result(Status.PASSWORD_REQUIRED, 0, null, 0);
+        }
+
+        byte[] encoded = null;
+        try {
+            encoded = VaultCrypto.open(derivePinKey(pin, salt), sealedKey, binding(this.username, userId));
+            failedAttempts = 0;
+            lastUnlockNanos = System.nanoTime();
+            return new Result(Status.UNLOCKED, userId, new SecretKeySpec(encoded, "AES"), maxAttempts);
+        } catch (AEADBadTagException e) {
+            failedAttempts++;
+            if (failedAttempts >= maxAttempts) {
+                disarm();
+                return new Result(Status.PASSWORD_REQUIRED, 0, null, 0);
+            }
+            return new Result(Status.WRONG_PIN, 0, null, maxAttempts - failedAttempts);
+        } finally {
+            if (encoded != null) {
+                Arrays.fill(encoded, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Restarts the idle window while the vault opened by the sealed key is
+     * in use, so it counts from the last use and not from the unlock.
+     */
+    public synchronized void touch(String username) {
+        if (sealedKey != null && this.username.equals(username)) {
+            lastUnlockNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns whether a PIN unlock of a user is possible, dropping the
+     * sealed key if its time is up.
+     */
+    public synchronized boolean isArmed(String username) {
+        return username != null && username.equals(getArmedUsername());
+    }
+
+    /**
+     * Returns the user whose vault a PIN can reopen, or null.
+     */
+    public synchronized String getArmedUsername() {
+        if (sealedKey == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - armedAtNanos >= absoluteTimeoutNanos || now - lastUnlockNanos >= idleWindowNanos) {
+            disarm();
+            return null;
+        }
+        return username;
+    }
+
+    /**
+     * Drops the sealed key, so the next unlock needs the master password.
+     */
+    public synchronized void disarm() {
+        if (sealedKey != null) {
+            Arrays.fill(sealedKey, (byte) 0);
+            Arrays.fill(salt, (byte) 0);
+        }
+        username = null;
+        userId = 0;
+        salt = null;
+        sealedKey = null;
+        failedAttempts = 0;
+    }
+
+
+    /**
+     * The associated data of the sealed key, so it only opens for the user
+     * it was armed for.
+     */
+    private static byte[] binding(String username, long userId) {
+        return ("seraphim-quick-unlock:" + userId + ":" + username).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static SecretKey derivePinKey(Secret pin, byte[] salt) throws GeneralSecurityException {
+        char[] chars = pin.toChars();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, PIN_KEY_ITERATIONS, PIN_KEY_BITS);
+        try {
+            byte[] encoded = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            try {
+                return new SecretKeySpec(encoded, "AES");
+            } finally {
+                Arrays.fill(encoded, (byte) 0);
+            }
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
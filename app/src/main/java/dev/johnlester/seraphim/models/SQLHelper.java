@@ -31,7 +31,7 @@ public final class SQLHelper {
     private static final String DB_PATH = System.getProperty("user.home") + "/.local/share/seraphim/seraphim.db";
     private static final String DB_URL = "jdbc:sqlite:" + DB_PATH;
 
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
 
     private static ThreadLocal<Connection> threadLocalSession = new ThreadLocal<Connection>() {
         @Override
@@ -46,20 +46,28 @@ public final class SQLHelper {
 
 
     private static void requireInitialization() {
-        if (!initialized) {
-            throw new IllegalStateException("SQLHelper is not initialized. Call initialize() first.");
+        if (initialized) {
+            return;
+        }
+        // Waits for a migration in progress, which holds the class lock.
+        synchronized (SQLHelper.class) {
+            if (!initialized) {
+                throw new IllegalStateException("SQLHelper is not initialized. Call initialize() first.");
+            }
         }
     }
 
 
-    public static void initialize() {
+    public static synchronized void initialize() {
         File dir = new File(DB_PATH).getParentFile();
         if (!dir.exists()) {
             dir.mkdirs();
         }
 
+        // The flag is only set once the database is up to date, so nothing
+        // reads it halfway through the migration.
+        Schema.migrate();
         initialized = true;
-
     }
 
 
@@ -82,6 +90,14 @@ public final class SQLHelper {
 
     public static Connection connect() throws SQLException {
         requireInitialization();
+        return openConnection();
+    }
+
+    /**
+     * Connects without waiting for {@link #initialize()}, for the migration
+     * it runs.
+     */
+    static Connection openConnection() throws SQLException {
         return DriverManager.getConnection(DB_URL);
     }
     
@@ -214,6 +230,81 @@ public final class SQLHelper {
     }
 
 
+    public static String fullTextTableName(String tableName) {
+        return tableName + "_fts";
+    }
+
+    /**
+     * Returns the statements creating a full-text index over some columns of
+     * a table, each one a no-op if its object exists.
+     * 
+     * The index is an external-content FTS5 table named
+     * {@link #fullTextTableName(String)}: it stores only the index, the text
+     * stays in the base table. Triggers on insert, delete and update of the
+     * indexed columns keep it in sync. When the index is added to a table
+     * that already has rows, {@link #fullTextRebuildStatement(String)} must
+     * fill it.
+     * 
+     * @param tableName the base table, which must have an INTEGER PRIMARY KEY
+     *                  named id
+     * @param columns the columns to index
+     * @return the statements in the order they must run
+     */
+    public static List<String> fullTextIndexStatements(String tableName, String[] columns) {
+        String fts = fullTextTableName(tableName);
+        String columnList = String.join(", ", columns);
+        String newValues = "new." + String.join(", new.", columns);
+        String oldValues = "old." + String.join(", old.", columns);
+
+        return List.of(
+            // Prefix indexes make "ab*" and "abc*" queries as fast as whole
+            // tokens; diacritics are folded, so accented letters match
+            // their plain form.
+            "CREATE VIRTUAL TABLE IF NOT EXISTS " + fts + " USING fts5(" + columnList +
+                ", content='" + tableName + "', content_rowid='id'" +
+                ", prefix='2 3', tokenize='unicode61 remove_diacritics 2')",
+            "CREATE TRIGGER IF NOT EXISTS " + fts + "_insert AFTER INSERT ON " + tableName + " BEGIN " +
+                "INSERT INTO " + fts + " (rowid, " + columnList + ") VALUES (new.id, " + newValues + "); END",
+            "CREATE TRIGGER IF NOT EXISTS " + fts + "_delete AFTER DELETE ON " + tableName + " BEGIN " +
+                "INSERT INTO " + fts + " (" + fts + ", rowid, " + columnList + ") VALUES ('delete', old.id, " + oldValues + "); END",
+            "CREATE TRIGGER IF NOT EXISTS " + fts + "_update AFTER UPDATE OF " + columnList + " ON " + tableName + " BEGIN " +
+                "INSERT INTO " + fts + " (" + fts + ", rowid, " + columnList + ") VALUES ('delete', old.id, " + oldValues + "); " +
+                "INSERT INTO " + fts + " (rowid, " + columnList + ") VALUES (new.id, " + newValues + "); END"
+        );
+    }
+
+    /**
+     * Returns the statement filling the full-text index of a table from its
+     * rows.
+     */
+    public static String fullTextRebuildStatement(String tableName) {
+        String fts = fullTextTableName(tableName);
+        return "INSERT INTO " + fts + " (" + fts + ") VALUES ('rebuild')";
+    }
+
+
+    /**
+     * Returns the schema version stored in the database file, 0 for a new
+     * database.
+     */
+    public static int getUserVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    public static void setUserVersion(Connection conn, int version) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("PRAGMA user_version = " + version);
+        }
+    }
+
+    public static boolean tableExists(String tableName, Connection conn) throws SQLException {
+        return recordExists("SELECT name FROM sqlite_master WHERE type='table' AND name=?",
+            new Object[] { tableName }, conn);
+    }
+
+
     public static List<String> getAllTables() throws SQLException {
         List<String> tables = new ArrayList<>();
         String sql = "SELECT name FROM sqlite_master WHERE type='table'";
@@ -0,0 +1,158 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Creates and upgrades the tables of every model.
+ * 
+ * The database file stores the version of its schema in
+ * {@code PRAGMA user_version}. When it is {@link #VERSION}, startup reads
+ * that one pragma and runs no DDL. Otherwise the migrations of every model
+ * newer than the stored version run in version order, then every table,
+ * index and full-text index is created if missing, and the new version is
+ * stored, all in one transaction on one connection. A failed upgrade leaves
+ * the database as it was.
+ * 
+ * Version history:
+ * <ol>
+ * <li>Authentication, as created before the schema was versioned. Such
+ *     databases have user_version 0.</li>
+ * <li>VaultEntries with its sort indexes and full-text index.</li>
+ * <li>VaultEntries.sealVersion, set once a secret is bound to its row.</li>
+ * <li>LoginAttempts, the login throttle of the command line.</li>
+ * </ol>
+ * 
+ * @author JohnLesterDev
+ */
+public final class Schema {
+    /**
+     * The schema version of this build. Raise it with every change of a
+     * table, index or migration.
+     */
+    public static final int VERSION = 4;
+
+    /**
+     * The version of databases created before the schema was versioned.
+     */
+    private static final int UNVERSIONED = 1;
+
+    /**
+     * The models in the order their tables are created: referenced tables
+     * first.
+     */
+    private static List<BaseModel> models() {
+        return List.of(
+            AuthenticationModel.getInstance(),
+            VaultEntryModel.getInstance(),
+            LoginAttemptModel.getInstance()
+            );
+    }
+
+
+    /**
+     * Brings the database to {@link #VERSION}.
+     * 
+     * @throws IllegalStateException if the database is newer than this build
+     *         or cannot be upgraded
+     */
+    static void migrate() {
+        try (Connection conn = SQLHelper.openConnection()) {
+            if (SQLHelper.getUserVersion(conn) == VERSION) {
+                return;
+            }
+
+            SQLHelper.startTransaction(conn);
+            try {
+                // Read again inside the transaction, another process may
+                // have upgraded the database in the meantime.
+                int stored = SQLHelper.getUserVersion(conn);
+                if (stored > VERSION) {
+                    throw new IllegalStateException("The database has schema version " + stored +
+                        ", this version of Seraphim only knows up to " + VERSION + ".");
+                }
+                if (stored != VERSION) {
+                    upgrade(conn, stored);
+                }
+                SQLHelper.commitTransaction(conn);
+            } catch (SQLException | RuntimeException e) {
+                SQLHelper.rollbackTransaction(conn);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error upgrading the database schema.", e);
+        }
+    }
+
+    private static void upgrade(Connection conn, int stored) throws SQLException {
+        List<BaseModel> models = models();
+
+        int current = stored;
+        if (current == 0) {
+            // A new database gets the current tables and needs no
+            // migration, an unversioned one has the tables of version 1.
+            current = SQLHelper.tableExists(models.get(0).getTableName(), conn) ? UNVERSIONED : VERSION;
+        }
+
+        // A table that does not exist yet is created at the current version
+        // below, so the migrations of its model are skipped.
+        List<BaseModel.Migration> migrations = new ArrayList<>();
+        for (BaseModel model : models) {
+            if (!SQLHelper.tableExists(model.getTableName(), conn)) {
+                continue;
+            }
+            for (BaseModel.Migration migration : model.defineMigrations()) {
+                if (migration.version() > current) {
+                    migrations.add(migration);
+                }
+            }
+        }
+        migrations.sort(Comparator.comparingInt(BaseModel.Migration::version));
+
+        try (Statement stmt = conn.createStatement()) {
+            for (BaseModel.Migration migration : migrations) {
+                for (String sql : migration.statements()) {
+                    stmt.executeUpdate(sql);
+                }
+            }
+
+            for (BaseModel model : models) {
+                boolean fullTextIndexExists = SQLHelper.tableExists(model.getFullTextTableName(), conn);
+                for (String sql : model.schemaStatements(fullTextIndexExists)) {
+                    stmt.executeUpdate(sql);
+                }
+            }
+        }
+
+        SQLHelper.setUserVersion(conn, VERSION);
+    }
+
+
+    private Schema() {
+        throw new AssertionError("Schema is a utility class and cannot be instantiated.");
+    }
+}
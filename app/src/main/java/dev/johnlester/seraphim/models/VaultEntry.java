@@ -0,0 +1,60 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+
+/**
+ * A row of the vault. The secret is sealed with the vault key of its owner
+ * and is null when the row was loaded without it.
+ * 
+ * @param id the row id
+ * @param title the title shown in lists
+ * @param username the account name, may be null
+ * @param url the site, may be null
+ * @param tags comma separated tags, may be null
+ * @param notes free text, may be null
+ * @param secret the sealed secret, or null
+ * 
+ * @author JohnLesterDev
+ */
+public record VaultEntry(
+    long id,
+    String title,
+    String username,
+    String url,
+    String tags,
+    String notes,
+    byte[] secret
+) {
+
+    /**
+     * Creates an entry that is not stored yet.
+     */
+    public static VaultEntry of(String title, String username, String url, String tags, String notes) {
+        return new VaultEntry(0, title, username, url, tags, notes, null);
+    }
+
+    /**
+     * Returns this entry with another sealed secret.
+     */
+    public VaultEntry withSecret(byte[] secret) {
+        return new VaultEntry(id, title, username, url, tags, notes, secret);
+    }
+}
@@ -0,0 +1,904 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+
+import dev.johnlester.seraphim.utils.VaultCrypto;
+
+
+/**
+ * The credentials of every user. Metadata is stored in plain columns, the
+ * secret is sealed with AES-GCM under the vault key of its owner, bound to
+ * the owner and the entry id by {@link VaultCrypto#entryBinding(long, long)}.
+ * 
+ * @author JohnLesterDev
+ */
+public class VaultEntryModel extends BaseModel {
+    private static final String METADATA_COLUMNS = "id, title, username, url, tags, notes";
+
+    /**
+     * BM25 weights of the full-text columns: a match in the title counts
+     * ten times as much as one in the notes.
+     */
+    private static final String FULL_TEXT_WEIGHTS = "10.0, 4.0, 3.0, 4.0, 1.0";
+
+    /**
+     * Rows decrypted by one task of {@link #decryptAll}.
+     */
+    private static final int DECRYPT_BATCH_SIZE = 512;
+
+    /**
+     * The sealVersion of secrets bound to their row. Rows of version 0 were
+     * sealed without associated data and are resealed by
+     * {@link #resealLegacySecrets} when their owner next unlocks.
+     */
+    private static final int SEAL_VERSION = 1;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    /**
+     * The orders a vault can be listed in. Each one is backed by an index on
+     * the owner, the sort expression and the id, so pages are read with an
+     * index range scan however large the vault is.
+     */
+    public enum SortKey {
+        TITLE("title COLLATE NOCASE"),
+        USERNAME("COALESCE(username, '') COLLATE NOCASE"),
+        URL("COALESCE(url, '') COLLATE NOCASE"),
+        CREATED("id");
+
+        private final String expression;
+
+        SortKey(String expression) {
+            this.expression = expression;
+        }
+
+        private String indexName() {
+            return "VaultEntries_" + name().toLowerCase(Locale.ROOT) + "_idx";
+        }
+
+        private String indexColumns() {
+            return this == CREATED ? "ownerId, id" : "ownerId, " + expression + ", id";
+        }
+    }
+
+    /**
+     * The first row of a page in a given order: its sort value and its id.
+     */
+    public record PageKey(Object value, long id) {
+    }
+
+    /**
+     * Notified after entries were stored, changed or deleted, on the thread
+     * that changed them.
+     */
+    public interface ChangeListener {
+        /**
+         * @param ownerId the owner of the entries
+         * @param entries the new or changed entries with their ids, without
+         *                their secrets
+         */
+        void entriesSaved(long ownerId, List<VaultEntry> entries);
+
+        /**
+         * @param ownerId the owner of the entries
+         * @param ids the ids of the deleted entries
+         */
+        void entriesDeleted(long ownerId, long[] ids);
+    }
+
+    private static VaultEntryModel instance;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public static synchronized VaultEntryModel getInstance() {
+        if (instance == null) {
+            instance = new VaultEntryModel();
+        }
+        return instance;
+    }
+
+    private VaultEntryModel() {
+        super();
+    }
+
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+
+    @Override
+    protected String defineTableName() {
+        return "VaultEntries";
+    }
+
+    /**
+     * The indexes of every sort order.
+     */
+    @Override
+    protected Index[] defineIndexes() {
+        SortKey[] keys = SortKey.values();
+        Index[] indexes = new Index[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = new Index(keys[i].indexName(), keys[i].indexColumns());
+        }
+        return indexes;
+    }
+
+    @Override
+    protected Migration[] defineMigrations() {
+        return new Migration[] {
+            new Migration(3, "ALTER TABLE " + defineTableName() + " ADD COLUMN sealVersion INTEGER NOT NULL DEFAULT 0")
+        };
+    }
+
+    @Override
+    protected String[] defineFullTextColumns() {
+        return new String[] { "title", "username", "url", "tags", "notes" };
+    }
+
+    @Override
+    protected String defineTableSchema() {
+        return "id INTEGER PRIMARY KEY AUTOINCREMENT,\n" +
+            "ownerId INTEGER NOT NULL REFERENCES Authentication(id),\n" +
+            "title TEXT NOT NULL,\n" +
+            "username TEXT NULL,\n" +
+            "url TEXT NULL,\n" +
+            "tags TEXT NULL,\n" +
+            "notes TEXT NULL,\n" +
+            "secret BLOB NOT NULL,\n" +
+            "sealVersion INTEGER NOT NULL DEFAULT 0,\n" +
+            "createdAt DATETIME DEFAULT CURRENT_TIMESTAMP,\n" +
+            "updatedAt DATETIME DEFAULT CURRENT_TIMESTAMP";
+    }
+
+
+    /**
+     * Stores a new entry.
+     *
+     * @param ownerId the id of the owning user
+     * @param entry the metadata of the entry
+     * @param secret the plaintext secret
+     * @param key the vault key of the owner
+     * @return the id of the new row
+     */
+    public long addEntry(long ownerId, VaultEntry entry, String secret, SecretKey key) {
+        return addEntries(ownerId, List.of(entry), List.of(secret), key)[0];
+    }
+
+    /**
+     * Stores a new entry whose secret is encoded straight from the given
+     * characters, without a String copy.
+     *
+     * @param ownerId the id of the owning user
+     * @param entry the metadata of the entry
+     * @param secret the plaintext secret, not cleared by this method
+     * @param key the vault key of the owner
+     * @return the id of the new row
+     */
+    public long addEntry(long ownerId, VaultEntry entry, char[] secret, SecretKey key) {
+        return addEntries(ownerId, List.of(entry), List.of(CharBuffer.wrap(secret)), key)[0];
+    }
+
+    /**
+     * Stores many entries in one transaction.
+     *
+     * @param ownerId the id of the owning user
+     * @param entries the metadata of the entries
+     * @param secrets the plaintext secrets, in the order of the entries;
+     *                wrapped character arrays are not copied
+     * @param key the vault key of the owner
+     * @return the ids of the new rows
+     */
+    public long[] addEntries(long ownerId, List<VaultEntry> entries, List<? extends CharSequence> secrets,
+            SecretKey key) {
+        if (entries.size() != secrets.size()) {
+            throw new IllegalArgumentException("Every entry needs exactly one secret.");
+        }
+
+        // The secret is bound to the id of its row, so it is sealed once the
+        // row exists.
+        String insertSql = "INSERT INTO " + defineTableName() +
+            " (ownerId, title, username, url, tags, notes, secret, sealVersion) VALUES (?, ?, ?, ?, ?, ?, X'', ?)";
+        String sealSql = "UPDATE " + defineTableName() + " SET secret = ? WHERE id = ?";
+        long[] ids = new long[entries.size()];
+
+        Connection conn = null;
+        try {
+            conn = SQLHelper.connect();
+            SQLHelper.startTransaction(conn);
+            try (PreparedStatement insert = conn.prepareStatement(insertSql);
+                    PreparedStatement seal = conn.prepareStatement(sealSql)) {
+                for (int i = 0; i < entries.size(); i++) {
+                    VaultEntry entry = entries.get(i);
+                    insert.setLong(1, ownerId);
+                    insert.setString(2, entry.title());
+                    insert.setString(3, entry.username());
+                    insert.setString(4, entry.url());
+                    insert.setString(5, entry.tags());
+                    insert.setString(6, entry.notes());
+                    insert.setInt(7, SEAL_VERSION);
+                    insert.executeUpdate();
+
+                    try (ResultSet rs = insert.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("No id was generated for a vault entry.");
+                        }
+                        ids[i] = rs.getLong(1);
+                    }
+
+                    byte[] plaintext = encode(secrets.get(i));
+                    try {
+                        seal.setBytes(1, VaultCrypto.seal(key, plaintext, VaultCrypto.entryBinding(ownerId, ids[i])));
+                    } finally {
+                        Arrays.fill(plaintext, (byte) 0);
+                    }
+                    seal.setLong(2, ids[i]);
+                    seal.executeUpdate();
+                }
+            }
+            SQLHelper.commitTransaction(conn);
+        } catch (SQLException | GeneralSecurityException e) {
+            SQLHelper.rollbackTransaction(conn);
+            throw new RuntimeException("Error storing vault entries.", e);
+        } finally {
+            close(conn);
+        }
+
+        List<VaultEntry> saved = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            VaultEntry entry = entries.get(i);
+            saved.add(new VaultEntry(ids[i], entry.title(), entry.username(), entry.url(),
+                entry.tags(), entry.notes(), null));
+        }
+        for (ChangeListener listener : listeners) {
+            listener.entriesSaved(ownerId, saved);
+        }
+        return ids;
+    }
+
+    /**
+     * Changes the metadata of an entry. The secret is kept.
+     *
+     * @param ownerId the id of the owning user
+     * @param entry the entry with its id and new metadata
+     * @return true if the entry exists and was changed
+     */
+    public boolean updateEntry(long ownerId, VaultEntry entry) {
+        String sql = "UPDATE " + defineTableName() +
+            " SET title = ?, username = ?, url = ?, tags = ?, notes = ?, updatedAt = CURRENT_TIMESTAMP" +
+            " WHERE id = ? AND ownerId = ?";
+        try {
+            int changed = SQLHelper.executePreparedUpdate(sql, new Object[] {
+                entry.title(), entry.username(), entry.url(), entry.tags(), entry.notes(), entry.id(), ownerId
+            });
+            if (changed == 0) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating vault entry.", e);
+        }
+
+        VaultEntry saved = entry.withSecret(null);
+        for (ChangeListener listener : listeners) {
+            listener.entriesSaved(ownerId, List.of(saved));
+        }
+        return true;
+    }
+
+    /**
+     * Deletes an entry.
+     *
+     * @param ownerId the id of the owning user
+     * @param id the id of the entry
+     * @return true if the entry existed
+     */
+    public boolean deleteEntry(long ownerId, long id) {
+        String sql = "DELETE FROM " + defineTableName() + " WHERE id = ? AND ownerId = ?";
+        try {
+            if (SQLHelper.executePreparedUpdate(sql, new Object[] { id, ownerId }) == 0) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting vault entry.", e);
+        }
+
+        for (ChangeListener listener : listeners) {
+            listener.entriesDeleted(ownerId, new long[] { id });
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns the metadata of every entry of a user, ordered by title.
+     *
+     * @param ownerId the id of the owning user
+     * @return the entries without their secrets
+     */
+    public List<VaultEntry> listEntries(long ownerId) {
+        String sql = "SELECT " + METADATA_COLUMNS + " FROM " + defineTableName() +
+            " WHERE ownerId = ? ORDER BY title COLLATE NOCASE, id";
+        return query(sql, new Object[] { ownerId }, false);
+    }
+
+    /**
+     * Reads the metadata of every entry of a user, ordered by id, one row at
+     * a time, without holding the whole vault in a list.
+     *
+     * @param ownerId the id of the owning user
+     * @param cancelled checked before every row
+     * @param consumer called with every entry, without its secret
+     * @return true if every entry was read, false if cancelled
+     */
+    public boolean streamEntries(long ownerId, BooleanSupplier cancelled, Consumer<VaultEntry> consumer) {
+        String sql = "SELECT " + METADATA_COLUMNS + " FROM " + defineTableName() +
+            " WHERE ownerId = ? ORDER BY id";
+
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, ownerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (!cancelled.getAsBoolean()) {
+                    if (!rs.next()) {
+                        return true;
+                    }
+                    consumer.accept(readEntry(rs, false));
+                }
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading vault entries.", e);
+        }
+    }
+
+    /**
+     * Returns the number of entries of a user.
+     */
+    public int countEntries(long ownerId) {
+        try {
+            List<Map<String, Object>> result = SQLHelper.preparedQueryToList(
+                "SELECT COUNT(*) AS total FROM " + defineTableName() + " WHERE ownerId = ?",
+                new Object[] { ownerId });
+            return ((Number) result.get(0).get("total")).intValue();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting vault entries.", e);
+        }
+    }
+
+    /**
+     * Returns the key of the first row of every page, for reading any page
+     * with {@link #readPage} without an OFFSET scan. The keys are computed in
+     * one pass over the index of the order.
+     *
+     * @param ownerId the id of the owning user
+     * @param sortKey the order
+     * @param descending whether the order is reversed
+     * @param pageSize the number of rows of a page
+     * @return the key of the first row of page 0, 1, 2, ...
+     */
+    public List<PageKey> pageKeys(long ownerId, SortKey sortKey, boolean descending, int pageSize) {
+        String direction = descending ? " DESC" : "";
+        String sql = "SELECT sortValue, id FROM (" +
+            "SELECT " + sortKey.expression + " AS sortValue, id, ROW_NUMBER() OVER (ORDER BY " +
+            sortKey.expression + direction + ", id" + direction + ") AS rowNumber" +
+            " FROM " + defineTableName() + " WHERE ownerId = ?" +
+            ") WHERE (rowNumber - 1) % ? = 0 ORDER BY rowNumber";
+
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, ownerId);
+            pstmt.setInt(2, pageSize);
+
+            List<PageKey> keys = new ArrayList<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(new PageKey(rs.getObject(1), rs.getLong(2)));
+                }
+            }
+            return keys;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading vault page keys.", e);
+        }
+    }
+
+    /**
+     * Reads the metadata of the rows starting at a page key (keyset
+     * pagination).
+     *
+     * @param ownerId the id of the owning user
+     * @param sortKey the order
+     * @param descending whether the order is reversed
+     * @param start the key of the first row, from {@link #pageKeys}
+     * @param limit the maximum number of rows
+     * @return the entries without their secrets
+     */
+    public List<VaultEntry> readPage(long ownerId, SortKey sortKey, boolean descending, PageKey start, int limit) {
+        String direction = descending ? " DESC" : "";
+        String sql = "SELECT " + METADATA_COLUMNS + " FROM " + defineTableName() +
+            " WHERE ownerId = ? AND (" + sortKey.expression + ", id) " + (descending ? "<=" : ">=") + " (?, ?)" +
+            " ORDER BY " + sortKey.expression + direction + ", id" + direction +
+            " LIMIT ?";
+        return query(sql, new Object[] { ownerId, start.value(), start.id(), limit }, false);
+    }
+
+    /**
+     * Streams the entries whose metadata matches a full-text query, best
+     * match first (BM25, with the title weighted highest).
+     * 
+     * Every word of the query must start a word of the title, username, URL,
+     * tags or notes: "gith" finds "GitHub", and "mail work" finds an entry
+     * titled "Mail" tagged "work". {@link #matchesFullText(String[], String[])}
+     * applies the same rule in memory.
+     *
+     * @param ownerId the id of the owning user
+     * @param text the query as typed
+     * @param cancelled checked before every row
+     * @param consumer called with every match, without its secret
+     * @return true if every match was read, false if cancelled
+     */
+    public boolean searchFullText(long ownerId, String text, BooleanSupplier cancelled, Consumer<VaultEntry> consumer) {
+        String[] words = tokenize(text);
+        if (words.length == 0) {
+            return true;
+        }
+
+        StringBuilder match = new StringBuilder();
+        for (String word : words) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(word).append("\"*");
+        }
+
+        String fts = getFullTextTableName();
+        String sql = "SELECT e.id, e.title, e.username, e.url, e.tags, e.notes" +
+            " FROM " + fts + " JOIN " + defineTableName() + " e ON e.id = " + fts + ".rowid" +
+            " WHERE " + fts + " MATCH ? AND e.ownerId = ?" +
+            " ORDER BY bm25(" + fts + ", " + FULL_TEXT_WEIGHTS + "), e.id";
+
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, match.toString());
+            pstmt.setLong(2, ownerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (!cancelled.getAsBoolean()) {
+                    if (!rs.next()) {
+                        return true;
+                    }
+                    consumer.accept(readEntry(rs, false));
+                }
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error searching vault entries.", e);
+        }
+    }
+
+    /**
+     * Returns the matches of a full-text query, best match first.
+     *
+     * @param ownerId the id of the owning user
+     * @param text the query as typed
+     * @param limit the maximum number of matches
+     * @return the entries without their secrets
+     */
+    public List<VaultEntry> searchFullText(long ownerId, String text, int limit) {
+        List<VaultEntry> matches = new ArrayList<>();
+        searchFullText(ownerId, text, () -> matches.size() >= limit, matches::add);
+        return matches;
+    }
+
+    /**
+     * Splits text into the words the full-text index holds: runs of letters
+     * and digits, in lower case and without diacritics, like the unicode61
+     * tokenizer of the index.
+     *
+     * @param text any text, may be null
+     * @return the words, possibly none
+     */
+    public static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Applies the rule of {@link #searchFullText} in memory: every query
+     * word starts some word of the entry.
+     *
+     * @param queryWords the words of the query, from {@link #tokenize}
+     * @param entryWords the words of the entry, from {@link #tokenize}
+     * @return true if the entry matches
+     */
+    public static boolean matchesFullText(String[] queryWords, String[] entryWords) {
+        for (String query : queryWords) {
+            boolean found = false;
+            for (String word : entryWords) {
+                if (word.startsWith(query)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns every entry of a user with its sealed secret, ordered by id,
+     * e.g. to keep an unlocked vault in memory.
+     *
+     * @param ownerId the id of the owning user
+     * @return the entries with their sealed secrets
+     */
+    public List<VaultEntry> listSealedEntries(long ownerId) {
+        String sql = "SELECT " + METADATA_COLUMNS + ", secret FROM " + defineTableName() +
+            " WHERE ownerId = ? ORDER BY id";
+        return query(sql, new Object[] { ownerId }, true);
+    }
+
+    /**
+     * Decrypts every entry of a user, e.g. to export the vault.
+     * 
+     * The rows are read on the calling thread in batches, and the batches
+     * are decrypted in parallel by one worker per spare core, each with its
+     * own cipher. Batches are handed to the consumer on the calling thread,
+     * in id order, as soon as they and every batch before them are done; at
+     * most two batches per worker are in flight, so memory does not grow
+     * with the vault. A UI consumer should post the batches to the EDT.
+     *
+     * @param ownerId the id of the owning user
+     * @param key the vault key of the owner
+     * @param cancelled checked before every row
+     * @param consumer called with every batch; it owns the secrets and
+     *                 should {@link DecryptedEntry#wipe()} them when done
+     * @return true if every entry was delivered, false if cancelled
+     * @throws IllegalStateException if a secret cannot be decrypted with the
+     *         key
+     */
+    public boolean decryptAll(long ownerId, SecretKey key, BooleanSupplier cancelled,
+            Consumer<List<DecryptedEntry>> consumer) {
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int maxPending = workers * 2;
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-decrypt");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+
+        String sql = "SELECT " + METADATA_COLUMNS + ", secret FROM " + defineTableName() +
+            " WHERE ownerId = ? ORDER BY id";
+        Deque<Future<List<DecryptedEntry>>> pending = new ArrayDeque<>();
+
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, ownerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<VaultEntry> batch = new ArrayList<>(DECRYPT_BATCH_SIZE);
+                boolean more = true;
+                while (more) {
+                    if (cancelled.getAsBoolean()) {
+                        return false;
+                    }
+                    more = rs.next();
+                    if (more) {
+                        batch.add(readEntry(rs, true));
+                    }
+
+                    if (batch.size() == DECRYPT_BATCH_SIZE || (!more && !batch.isEmpty())) {
+                        List<VaultEntry> sealed = batch;
+                        batch = new ArrayList<>(DECRYPT_BATCH_SIZE);
+                        pending.addLast(pool.submit(() -> decryptBatch(ownerId, sealed, key, ciphers)));
+                        deliver(pending, maxPending, consumer);
+                    }
+                }
+            }
+            deliver(pending, 1, consumer);
+            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading vault entries.", e);
+        } finally {
+            pool.shutdownNow();
+            discard(pending);
+        }
+    }
+
+    /**
+     * Hands the finished batches at the head of the queue to the consumer,
+     * waiting for the head while at least {@code maxPending} are queued.
+     */
+    private static void deliver(Deque<Future<List<DecryptedEntry>>> pending, int maxPending,
+            Consumer<List<DecryptedEntry>> consumer) {
+        while (!pending.isEmpty() && (pending.size() >= maxPending || pending.peekFirst().isDone())) {
+            consumer.accept(await(pending.pollFirst()));
+        }
+    }
+
+    private static List<DecryptedEntry> decryptBatch(long ownerId, List<VaultEntry> sealed, SecretKey key,
+            ThreadLocal<Cipher> ciphers) throws GeneralSecurityException {
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = VaultCrypto.newCipher();
+            ciphers.set(cipher);
+        }
+
+        List<DecryptedEntry> decrypted = new ArrayList<>(sealed.size());
+        try {
+            for (VaultEntry entry : sealed) {
+                char[] secret = VaultCrypto.openChars(cipher, key, entry.secret(),
+                    VaultCrypto.entryBinding(ownerId, entry.id()));
+                decrypted.add(new DecryptedEntry(entry.withSecret(null), secret));
+            }
+        } catch (GeneralSecurityException e) {
+            decrypted.forEach(DecryptedEntry::wipe);
+            throw e;
+        }
+        return decrypted;
+    }
+
+    private static List<DecryptedEntry> await(Future<List<DecryptedEntry>> batch) {
+        try {
+            return batch.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A secret of the vault cannot be decrypted.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while decrypting the vault.", e);
+        }
+    }
+
+    /**
+     * Clears the secrets of batches that were never delivered.
+     */
+    private static void discard(Deque<Future<List<DecryptedEntry>>> pending) {
+        for (Future<List<DecryptedEntry>> batch : pending) {
+            if (!batch.cancel(true) && batch.isDone()) {
+                try {
+                    batch.get().forEach(DecryptedEntry::wipe);
+                } catch (ExecutionException | InterruptedException e) {
+                    // Nothing was decrypted, or it is already wiped.
+                }
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Reads the sealed secret of one entry, for decrypting it when it is
+     * used instead of with the metadata.
+     *
+     * @param ownerId the id of the owning user
+     * @param id the id of the entry
+     * @return the sealed secret, or null if the entry does not exist
+     */
+    public byte[] readSealedSecret(long ownerId, long id) {
+        String sql = "SELECT secret FROM " + defineTableName() + " WHERE id = ? AND ownerId = ?";
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            pstmt.setLong(2, ownerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getBytes(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading vault secret.", e);
+        }
+    }
+
+    /**
+     * Returns the entry with the given title, ignoring case. When several
+     * entries share the title, the oldest one is returned.
+     *
+     * @param ownerId the id of the owning user
+     * @param title the title
+     * @return the entry with its sealed secret, or null
+     */
+    public VaultEntry findByTitle(long ownerId, String title) {
+        String sql = "SELECT " + METADATA_COLUMNS + ", secret FROM " + defineTableName() +
+            " WHERE ownerId = ? AND title = ? COLLATE NOCASE ORDER BY id LIMIT 1";
+        List<VaultEntry> result = query(sql, new Object[] { ownerId, title }, true);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Decrypts the secret of an entry.
+     *
+     * @param ownerId the id of the owning user
+     * @param entry an entry loaded with its secret
+     * @param key the vault key of the owner
+     * @return the plaintext secret
+     * @throws IllegalStateException if the entry has no secret, or the key
+     *         does not open it
+     */
+    public String decryptSecret(long ownerId, VaultEntry entry, SecretKey key) {
+        if (entry.secret() == null) {
+            throw new IllegalStateException("The entry was loaded without its secret.");
+        }
+
+        byte[] plaintext = null;
+        try {
+            plaintext = VaultCrypto.open(key, entry.secret(), VaultCrypto.entryBinding(ownerId, entry.id()));
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("The secret of entry " + entry.id() + " cannot be decrypted.", e);
+        } finally {
+            if (plaintext != null) {
+                Arrays.fill(plaintext, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Reseals the secrets a user stored before secrets were bound to their
+     * rows, this time bound, in one transaction. Called on every unlock;
+     * once a vault is upgraded it only costs the query.
+     *
+     * @param ownerId the id of the owning user
+     * @param key the vault key of the owner
+     * @return the number of secrets resealed
+     * @throws IllegalStateException if a secret cannot be decrypted with the
+     *         key
+     */
+    public int resealLegacySecrets(long ownerId, SecretKey key) {
+        String selectSql = "SELECT id, secret FROM " + defineTableName() + " WHERE ownerId = ? AND sealVersion = 0";
+        String updateSql = "UPDATE " + defineTableName() + " SET secret = ?, sealVersion = ? WHERE id = ?";
+
+        Connection conn = null;
+        try {
+            conn = SQLHelper.connect();
+            SQLHelper.startTransaction(conn);
+            int resealed = 0;
+            try (PreparedStatement select = conn.prepareStatement(selectSql);
+                    PreparedStatement update = conn.prepareStatement(updateSql)) {
+                select.setLong(1, ownerId);
+                Cipher cipher = VaultCrypto.newCipher();
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        long id = rs.getLong("id");
+                        byte[] plaintext = VaultCrypto.open(cipher, key, rs.getBytes("secret"), null);
+                        try {
+                            update.setBytes(1, VaultCrypto.seal(key, plaintext, VaultCrypto.entryBinding(ownerId, id)));
+                        } finally {
+                            Arrays.fill(plaintext, (byte) 0);
+                        }
+                        update.setInt(2, SEAL_VERSION);
+                        update.setLong(3, id);
+                        update.executeUpdate();
+                        resealed++;
+                    }
+                }
+            }
+            SQLHelper.commitTransaction(conn);
+            return resealed;
+        } catch (SQLException e) {
+            SQLHelper.rollbackTransaction(conn);
+            throw new RuntimeException("Error resealing vault secrets.", e);
+        } catch (GeneralSecurityException e) {
+            SQLHelper.rollbackTransaction(conn);
+            throw new IllegalStateException("A secret of the vault cannot be decrypted.", e);
+        } finally {
+            close(conn);
+        }
+    }
+
+
+    private List<VaultEntry> query(String sql, Object[] params, boolean withSecret) {
+        try (Connection conn = SQLHelper.connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+
+            List<VaultEntry> entries = new ArrayList<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(readEntry(rs, withSecret));
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading vault entries.", e);
+        }
+    }
+
+    private static VaultEntry readEntry(ResultSet rs, boolean withSecret) throws SQLException {
+        return new VaultEntry(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("username"),
+            rs.getString("url"),
+            rs.getString("tags"),
+            rs.getString("notes"),
+            withSecret ? rs.getBytes("secret") : null
+            );
+    }
+
+    /**
+     * Encodes a secret as UTF-8 into an array the caller clears.
+     */
+    private static byte[] encode(CharSequence secret) {
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(secret));
+        try {
+            byte[] plaintext = new byte[encoded.remaining()];
+            encoded.get(plaintext);
+            return plaintext;
+        } finally {
+            Arrays.fill(encoded.array(), (byte) 0);
+        }
+    }
+
+    private static void close(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.models;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import dev.johnlester.seraphim.utils.SecretCache;
+import dev.johnlester.seraphim.utils.VaultCrypto;
+
+
+/**
+ * The secrets of an unlocked vault, decrypted one at a time when they are
+ * used.
+ * 
+ * Entries are listed with their metadata only. The sealed secret of an entry
+ * is read and decrypted the first time it is revealed, and kept in a
+ * {@link SecretCache} for a short while, so the plaintext in memory is
+ * bounded by the cache and not by the size of the vault. Secrets of entries
+ * that change are dropped from the cache.
+ * 
+ * @author JohnLesterDev
+ */
+public final class VaultSecrets implements AutoCloseable {
+    private static final int CACHE_CAPACITY = 64;
+    private static final Duration CACHE_TTL = Duration.ofSeconds(30);
+
+    private final long ownerId;
+    private final SecretKey key;
+    private final SecretCache cache = new SecretCache(CACHE_CAPACITY, CACHE_TTL);
+    private final VaultEntryModel model = VaultEntryModel.getInstance();
+
+    private final VaultEntryModel.ChangeListener changeListener = new VaultEntryModel.ChangeListener() {
+        @Override
+        public void entriesSaved(long owner, List<VaultEntry> entries) {
+            if (owner == ownerId) {
+                entries.forEach(entry -> cache.invalidate(entry.id()));
+            }
+        }
+
+        @Override
+        public void entriesDeleted(long owner, long[] ids) {
+            if (owner == ownerId) {
+                for (long id : ids) {
+                    cache.invalidate(id);
+                }
+            }
+        }
+    };
+
+    /**
+     * @param ownerId the id of the owning user
+     * @param key the vault key of the owner
+     */
+    public VaultSecrets(long ownerId, SecretKey key) {
+        this.ownerId = ownerId;
+        this.key = key;
+        model.addChangeListener(changeListener);
+    }
+
+    public long getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Returns the secret of an entry.
+     *
+     * @param entryId the id of the entry
+     * @return the secret, which the caller should clear when done, or null
+     *         if the entry does not exist
+     * @throws IllegalStateException if the secret cannot be decrypted, or
+     *         the secrets were closed
+     */
+    public char[] reveal(long entryId) {
+        try {
+            return cache.get(entryId, () -> {
+                byte[] sealed = model.readSealedSecret(ownerId, entryId);
+                if (sealed == null) {
+                    throw new MissingEntryException();
+                }
+                return VaultCrypto.openChars(VaultCrypto.newCipher(), key, sealed, VaultCrypto.entryBinding(ownerId, entryId));
+            });
+        } catch (MissingEntryException e) {
+            return null;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("The secret of entry " + entryId + " cannot be decrypted.", e);
+        }
+    }
+
+    /**
+     * Returns the share of reveals answered from the cache.
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    /**
+     * Clears every decrypted secret and stops following the vault.
+     */
+    @Override
+    public void close() {
+        model.removeChangeListener(changeListener);
+        cache.close();
+    }
+
+
+    /**
+     * Thrown by the loader when the entry was deleted.
+     */
+    private static final class MissingEntryException extends GeneralSecurityException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -42,12 +42,22 @@ public final class ConfigUtils {
         }
     }
 
+    /**
+     * Loads the configuration if it is not loaded yet. The configuration is
+     * loaded when this class is first used, so this only makes that happen
+     * early, e.g. on a background thread during startup.
+     */
+    public static void init() {
+        // Loading happens in the static initializer.
+    }
+
     private static void setDefaultProperties() {
         properties.setProperty("title", "Seraphim: Secure Vault Overseer");
         properties.setProperty("version", "0.0.1");
         properties.setProperty("homePath", configFilePath);
         properties.setProperty("rememberedUsername", "");
-        properties.setProperty("defaultMonitorIndex", MonitorUtils.getDefaultMonitorIndex() + "");
+        // No defaultMonitorIndex: looking it up loads AWT, which the command
+        // line interface must not do. Callers fall back to the primary monitor.
     }
 
     private static void loadProperties() {
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
+
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+
+
+/**
+ * Utility class that keeps the Unix domain sockets of this application
+ * private to the user running it.
+ * 
+ * A socket is bound inside a directory only its owner can enter, so no
+ * other user can connect between the bind and the permissions of the socket
+ * file being restricted. Every accepted connection is also checked against
+ * the credentials of its peer.
+ * 
+ * @author JohnLesterDev
+ */
+public final class LocalSockets {
+    private static final Set<PosixFilePermission> OWNER_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private static UserPrincipal owner;
+
+    /**
+     * Creates a directory that only the current user can enter, or restricts
+     * an existing one of the current user. A shared directory such as
+     * {@code /tmp} is refused rather than restricted.
+     *
+     * @param directory the directory of the sockets
+     * @throws IOException if the directory cannot be created or restricted,
+     *         or belongs to another user
+     */
+    public static void createPrivateDirectory(Path directory) throws IOException {
+        try {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_DIRECTORY));
+            if (!Files.getOwner(directory).equals(owner())) {
+                throw new IOException("The socket directory " + directory + " belongs to another user.");
+            }
+            Files.setPosixFilePermissions(directory, OWNER_DIRECTORY);
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; the peer check applies.
+            Files.createDirectories(directory);
+        }
+    }
+
+    /**
+     * Restricts a bound socket file to the current user.
+     *
+     * @param socketPath the socket file
+     * @throws IOException if the permissions cannot be set
+     */
+    public static void restrictToOwner(Path socketPath) throws IOException {
+        try {
+            Files.setPosixFilePermissions(socketPath, OWNER_FILE);
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; the directory permissions apply.
+        }
+    }
+
+    /**
+     * Returns whether an accepted connection comes from a process of the
+     * current user.
+     *
+     * @param channel the accepted channel
+     * @return false if the peer runs as another user
+     * @throws IOException if the peer credentials cannot be read
+     */
+    public static boolean isOwnPeer(SocketChannel channel) throws IOException {
+        UnixDomainPrincipal peer;
+        try {
+            peer = channel.getOption(ExtendedSocketOptions.SO_PEERCRED);
+        } catch (UnsupportedOperationException e) {
+            // No peer credentials on this platform; the directory
+            // permissions apply.
+            return true;
+        }
+        return peer.user().equals(owner());
+    }
+
+    private static synchronized UserPrincipal owner() throws IOException {
+        if (owner == null) {
+            owner = FileSystems.getDefault().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        }
+        return owner;
+    }
+
+
+    private LocalSockets() {
+        throw new AssertionError("LocalSockets is a utility class and cannot be instantiated.");
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Slows down password guessing per username and source.
+ * 
+ * After a few free failures, every failed login blocks the next attempt of
+ * the same username from the same source for a delay that doubles with every
+ * failure, and many failures in a row lock the pair out for a longer window.
+ * A successful login forgets the failures. Callers {@link #begin} an attempt
+ * before hashing anything, so blocked attempts cost no password hashing or
+ * key derivation.
+ * 
+ * An attempt is counted as a failure when it begins, in the same
+ * compare-and-set that checks the block, and a correct password takes the
+ * count back. Concurrent attempts of one pair therefore cannot all pass the
+ * check before any of them fails: each attempt past the free ones blocks
+ * the next as soon as it begins.
+ * 
+ * The state lives in a concurrent map with one record per pair: attempts
+ * never lock, and logins of different users never wait for each other.
+ * Records of pairs that stopped failing are swept once they are older than
+ * the forget time, so memory is bounded by the recent failures. Sources
+ * whose attempts come from short-lived processes keep their state
+ * elsewhere and only share the delays, see {@link #getDelayMillis}.
+ * 
+ * @author JohnLesterDev
+ */
+public final class LoginThrottle {
+    private static final int FREE_FAILURES = 3;
+    private static final Duration BASE_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_DELAY = Duration.ofMinutes(5);
+    private static final int LOCKOUT_FAILURES = 10;
+    private static final Duration LOCKOUT_WINDOW = Duration.ofMinutes(15);
+    private static final Duration FORGET_AFTER = Duration.ofMinutes(30);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private static LoginThrottle instance;
+
+    public static synchronized LoginThrottle getInstance() {
+        if (instance == null) {
+            instance = new LoginThrottle(FREE_FAILURES, BASE_DELAY, MAX_DELAY, LOCKOUT_FAILURES, LOCKOUT_WINDOW,
+                FORGET_AFTER, SWEEP_INTERVAL);
+        }
+        return instance;
+    }
+
+    /**
+     * Thrown for a login attempted while its username and source are blocked.
+     */
+    public static final class ThrottledException extends RuntimeException {
+        private final long retryAfterMillis;
+
+        public ThrottledException(long retryAfterMillis) {
+            super("Too many failed logins, try again in " + formatWait(retryAfterMillis) + ".");
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        /**
+         * Returns how long to wait before the next attempt.
+         */
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    /**
+     * A login that passed the throttle and is already counted as a failure.
+     * Report its outcome once the password was checked; an attempt that ends
+     * in an error without either call stays counted as a failure.
+     */
+    public interface Attempt {
+        /**
+         * Records a wrong username or password.
+         */
+        void failed();
+
+        /**
+         * Forgets the failures of the pair after a correct password.
+         */
+        void succeeded();
+    }
+
+    /**
+     * The failures of one username from one source, replaced as a whole so
+     * the count and the block change together.
+     */
+    private record State(int attempts, long blockedUntilNanos, long lastAttemptNanos) {
+    }
+
+    private static final class Failures {
+        final AtomicReference<State> state;
+
+        Failures(long now) {
+            state = new AtomicReference<>(new State(0, now, now));
+        }
+    }
+
+    private final int freeFailures;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final int lockoutFailures;
+    private final long lockoutNanos;
+    private final long forgetNanos;
+    private final long sweepIntervalNanos;
+
+    private final ConcurrentHashMap<String, Failures> failures = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Constructs a new throttle.
+     * 
+     * @param freeFailures failures in a row before attempts are delayed
+     * @param baseDelay the delay after the first delayed failure, doubled
+     *                  after every further one
+     * @param maxDelay the longest delay
+     * @param lockoutFailures failures in a row that lock the pair out
+     * @param lockoutWindow how long a lockout lasts
+     * @param forgetAfter how long after its last failure a pair is forgotten
+     * @param sweepInterval how often forgotten pairs are removed
+     */
+    public LoginThrottle(int freeFailures, Duration baseDelay, Duration maxDelay, int lockoutFailures,
+            Duration lockoutWindow, Duration forgetAfter, Duration sweepInterval) {
+        this.freeFailures = freeFailures;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.lockoutFailures = lockoutFailures;
+        this.lockoutNanos = lockoutWindow.toNanos();
+        this.forgetNanos = Math.max(forgetAfter.toNanos(), lockoutNanos);
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    /**
+     * Returns how long a login must wait, without recording anything.
+     *
+     * @param username the username tried
+     * @param source where the attempt comes from, e.g. "agent"
+     * @return 0 if the attempt may proceed, otherwise the milliseconds to wait
+     */
+    public long retryAfterMillis(String username, String source) {
+        Failures record = failures.get(key(username, source));
+        if (record == null) {
+            return 0;
+        }
+        return remainingMillis(record.state.get(), System.nanoTime());
+    }
+
+    /**
+     * Starts a login, counting it as a failure until it succeeds, or rejects
+     * it if the pair is blocked.
+     *
+     * @param username the username tried
+     * @param source where the attempt comes from, e.g. "agent"
+     * @return the attempt, whose outcome the caller reports
+     * @throws ThrottledException if the username and source are blocked
+     */
+    public Attempt begin(String username, String source) {
+        String key = key(username, source);
+        long now = System.nanoTime();
+        Failures record = failures.computeIfAbsent(key, ignored -> new Failures(now));
+
+        while (true) {
+            State state = record.state.get();
+            long retryAfter = remainingMillis(state, now);
+            if (retryAfter > 0) {
+                rejected.increment();
+                throw new ThrottledException(retryAfter);
+            }
+
+            int attempts = state.attempts() + 1;
+            long delay = delayNanos(attempts);
+            State next = new State(attempts, delay > 0 ? now + delay : state.blockedUntilNanos(), now);
+            if (record.state.compareAndSet(state, next)) {
+                break;
+            }
+        }
+
+        sweepIfDue(now);
+        return new Attempt() {
+            @Override
+            public void failed() {
+                failed.increment();
+            }
+
+            @Override
+            public void succeeded() {
+                failures.remove(key, record);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of attempts {@link #begin} rejected without
+     * checking the password.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of wrong passwords recorded.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of pairs with recent failures.
+     */
+    public int getTrackedCount() {
+        return failures.size();
+    }
+
+    /**
+     * Returns how long a pair is blocked after a number of failed attempts
+     * in a row.
+     *
+     * @param attempts the failed attempts, including the latest
+     * @return the milliseconds to block, 0 while the failures are free
+     */
+    public long getDelayMillis(int attempts) {
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos(attempts));
+    }
+
+    /**
+     * Returns how long after its last attempt an unblocked pair is
+     * forgotten.
+     */
+    public long getForgetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(forgetNanos);
+    }
+
+
+    /**
+     * Returns how long the pair is blocked after a number of failures in a
+     * row, in nanoseconds.
+     */
+    private long delayNanos(int attempts) {
+        if (attempts >= lockoutFailures) {
+            return lockoutNanos;
+        }
+        if (attempts > freeFailures) {
+            int doublings = Math.min(attempts - freeFailures - 1, 30);
+            return Math.min(maxDelayNanos, baseDelayNanos << doublings);
+        }
+        return 0;
+    }
+
+    private static long remainingMillis(State state, long now) {
+        long remaining = state.blockedUntilNanos() - now;
+        if (remaining <= 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    /**
+     * Removes the pairs whose last attempt is older than the forget time and
+     * that are not blocked, at most once per sweep interval. The thread that
+     * wins the timestamp does the sweep; others continue at once.
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        failures.values().removeIf(record -> {
+            State state = record.state.get();
+            return now - state.lastAttemptNanos() >= forgetNanos && state.blockedUntilNanos() - now <= 0;
+        });
+    }
+
+    private static String formatWait(long millis) {
+        long seconds = (millis + 999) / 1000;
+        if (seconds < 60) {
+            return seconds + (seconds == 1 ? " second" : " seconds");
+        }
+        long minutes = (seconds + 59) / 60;
+        return minutes + (minutes == 1 ? " minute" : " minutes");
+    }
+
+    private static String key(String username, String source) {
+        return source + '\0' + username;
+    }
+}
@@ -32,11 +32,23 @@ import javax.swing.JFrame;
  * Provides methods to get monitor count, default monitor index, monitor indexes,
  * monitor dimensions, and monitor bounds.
  * 
+ * Without a display ({@code java.awt.headless=true}) it reports a single
+ * virtual 1920x1080 monitor, so views can still be built offscreen.
+ * 
  * This class cannot be instantiated.
  * 
  * @author JohnLesterDev
  */
 public final class MonitorUtils {
+    /**
+     * The refresh rate assumed when the display does not report one.
+     */
+    public static final int DEFAULT_REFRESH_RATE = 60;
+
+    /**
+     * The size of the virtual monitor reported when there is no display.
+     */
+    public static final Dimension HEADLESS_DIMENSION = new Dimension(1920, 1080);
 
     private MonitorUtils() {
         throw new AssertionError("MonitorUtils is a utility class and cannot be instantiated.");
@@ -48,6 +60,7 @@ public final class MonitorUtils {
      * @return the number of monitors
      */
     public static int getMonitorCount() {
+        if (GraphicsEnvironment.isHeadless()) return 1;
         return GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices().length;
     }
 
@@ -57,6 +70,8 @@ public final class MonitorUtils {
      * @return the index of the default monitor, or -1 if not found
      */
     public static int getDefaultMonitorIndex() {
+        if (GraphicsEnvironment.isHeadless()) return 0;
+
         GraphicsDevice defaultDevice = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
         GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
 
@@ -88,6 +103,12 @@ public final class MonitorUtils {
      * @return a list of dimensions, one for each monitor
      */
     public static List<Dimension> getMonitorDimensions() {
+        if (GraphicsEnvironment.isHeadless()) {
+            List<Dimension> dimensions = new ArrayList<>();
+            dimensions.add(new Dimension(HEADLESS_DIMENSION));
+            return dimensions;
+        }
+
         GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
         List<Dimension> dimensions = new ArrayList<>();
 
@@ -104,6 +125,12 @@ public final class MonitorUtils {
      * @return a list of rectangles representing the bounds of each monitor
      */
     public static List<Rectangle> getMonitorBounds() {
+        if (GraphicsEnvironment.isHeadless()) {
+            List<Rectangle> boundsList = new ArrayList<>();
+            boundsList.add(new Rectangle(HEADLESS_DIMENSION));
+            return boundsList;
+        }
+
         GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
         List<Rectangle> boundsList = new ArrayList<>();
 
@@ -113,6 +140,33 @@ public final class MonitorUtils {
         return boundsList;
     }
 
+    /**
+     * Returns the refresh rate of the given monitor in hertz.
+     *
+     * @param monitorIndex the index of the monitor
+     * @return the refresh rate, or 60 if it is unknown or there is no display
+     */
+    public static int getRefreshRate(int monitorIndex) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_REFRESH_RATE;
+        }
+
+        GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+        if (monitorIndex < 0 || monitorIndex >= devices.length) monitorIndex = 0;
+
+        int refreshRate = devices[monitorIndex].getDisplayMode().getRefreshRate();
+        return refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : refreshRate;
+    }
+
+    /**
+     * Returns the refresh rate of the default monitor in hertz.
+     *
+     * @return the refresh rate, or 60 if it is unknown or there is no display
+     */
+    public static int getRefreshRate() {
+        return getRefreshRate(GraphicsEnvironment.isHeadless() ? 0 : getDefaultMonitorIndex());
+    }
+
     public static void centerFrameOnMonitor(JFrame frame, int monitorIndex) {
         GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
         GraphicsDevice[] screens = ge.getScreenDevices();
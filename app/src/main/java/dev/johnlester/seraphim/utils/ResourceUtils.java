@@ -20,6 +20,9 @@
 package dev.johnlester.seraphim.utils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,6 +30,8 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
+import javax.imageio.ImageIO;
+
 
 /**
  * Utility class for retrieving resources from the classpath.
@@ -36,6 +41,8 @@ import java.nio.charset.StandardCharsets;
 public final class ResourceUtils {
     public static String[] strList;
 
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
     /**
      * Get an InputStream from a resource file
      * @param path Path to the resource file
@@ -99,5 +106,28 @@ public final class ResourceUtils {
         return fileList;
     }
 
+    /**
+     * Get a decoded image from a resource file. Images are decoded once and
+     * cached, so this can be called from a background thread to decode an
+     * image before the UI needs it.
+     * 
+     * @param path Path to the resource file
+     * @return the decoded image
+     * @throws RuntimeException if the resource is not found or cannot be decoded
+     */
+    public static BufferedImage getImage(String path) {
+        return images.computeIfAbsent(path, key -> {
+            try (InputStream inputStream = getResourceFileStream(key)) {
+                BufferedImage image = ImageIO.read(inputStream);
+                if (image == null) {
+                    throw new RuntimeException("Resource is not a supported image: " + key);
+                }
+                return image;
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read image: " + key, e);
+            }
+        });
+    }
+
     private ResourceUtils() {}
 }
@@ -0,0 +1,256 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Fixed-capacity storage for passwords and PINs outside the Java heap.
+ * 
+ * Heap strings and arrays are copied around by the garbage collector and
+ * linger until overwritten, so a password typed once may exist in many
+ * places. The arena instead holds every secret in one slot of a direct
+ * buffer allocated up front, which never moves. A secret is encoded into its
+ * slot straight from the characters of a password field, and is read through
+ * {@link Secret#view()} without copying it to the heap.
+ * 
+ * Every {@link Secret} is reference counted: {@link Secret#retain()} adds a
+ * holder, {@link Secret#close()} removes one, and when the last holder closes
+ * it the slot is overwritten with zeros and returned to the arena.
+ * 
+ * @author JohnLesterDev
+ */
+public final class SecretArena {
+    /**
+     * Slots of the shared arena. Secrets live only while a password is
+     * checked or a key derived, so few are in use at once.
+     */
+    private static final int DEFAULT_SLOTS = 64;
+
+    /**
+     * Bytes of a slot of the shared arena, the longest UTF-8 password it can
+     * hold.
+     */
+    private static final int DEFAULT_SLOT_BYTES = 256;
+
+    private static SecretArena instance;
+
+    public static synchronized SecretArena getInstance() {
+        if (instance == null) {
+            instance = new SecretArena(DEFAULT_SLOTS, DEFAULT_SLOT_BYTES);
+        }
+        return instance;
+    }
+
+    private final ByteBuffer memory;
+    private final ByteBuffer[] slots;
+    private final int slotBytes;
+
+    /**
+     * Indexes of the free slots, a stack so the most recently freed slot is
+     * used first.
+     */
+    private final int[] free;
+    private int freeCount;
+
+    /**
+     * Constructs a new arena and allocates all of its memory.
+     * 
+     * @param slotCount the number of secrets that can be held at once
+     * @param slotBytes the size of a slot in bytes
+     */
+    public SecretArena(int slotCount, int slotBytes) {
+        this.memory = ByteBuffer.allocateDirect(slotCount * slotBytes);
+        this.slots = new ByteBuffer[slotCount];
+        this.slotBytes = slotBytes;
+        this.free = new int[slotCount];
+
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = memory.slice(i * slotBytes, slotBytes);
+            free[i] = slotCount - 1 - i;
+        }
+        freeCount = slotCount;
+    }
+
+    /**
+     * Stores the UTF-8 encoding of characters, e.g. the contents of a
+     * password field. The characters are not cleared by this method.
+     *
+     * @param chars the secret
+     * @return the secret, held once
+     * @throws IllegalArgumentException if the secret does not fit in a slot
+     * @throws IllegalStateException if every slot is in use
+     */
+    public Secret allocate(char[] chars) {
+        int slot = take();
+        ByteBuffer target = slots[slot].clear();
+
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CoderResult result = encoder.encode(CharBuffer.wrap(chars), target, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(target);
+        }
+        if (result.isOverflow()) {
+            release(slot);
+            throw new IllegalArgumentException("The secret is longer than " + slotBytes + " bytes.");
+        }
+        return new Secret(slot, target.position());
+    }
+
+    /**
+     * Stores a copy of bytes. The bytes are not cleared by this method.
+     *
+     * @param bytes the secret
+     * @return the secret, held once
+     * @throws IllegalArgumentException if the secret does not fit in a slot
+     * @throws IllegalStateException if every slot is in use
+     */
+    public Secret allocate(byte[] bytes) {
+        if (bytes.length > slotBytes) {
+            throw new IllegalArgumentException("The secret is longer than " + slotBytes + " bytes.");
+        }
+        int slot = take();
+        slots[slot].clear().put(bytes);
+        return new Secret(slot, bytes.length);
+    }
+
+    /**
+     * Returns the number of slots in use.
+     */
+    public synchronized int getUsedSlots() {
+        return slots.length - freeCount;
+    }
+
+
+    private synchronized int take() {
+        if (freeCount == 0) {
+            throw new IllegalStateException("Every slot of the secret arena is in use.");
+        }
+        return free[--freeCount];
+    }
+
+    private synchronized void release(int slot) {
+        ByteBuffer buffer = slots[slot];
+        for (int i = 0; i < slotBytes; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        free[freeCount++] = slot;
+    }
+
+
+    /**
+     * A handle to a secret in the arena. Closing the last holder wipes it;
+     * reading it afterwards throws {@link IllegalStateException}.
+     */
+    public final class Secret implements AutoCloseable {
+        private final int slot;
+        private final int length;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Secret(int slot, int length) {
+            this.slot = slot;
+            this.length = length;
+        }
+
+        /**
+         * Adds a holder, who must close the secret as well.
+         *
+         * @return this secret
+         * @throws IllegalStateException if the secret was already wiped
+         */
+        public Secret retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    throw new IllegalStateException("The secret was already wiped.");
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return this;
+        }
+
+        /**
+         * Returns the length of the secret in bytes.
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Returns a read-only view of the UTF-8 bytes of the secret in the
+         * arena. The view must not be used after the secret is closed.
+         */
+        public ByteBuffer view() {
+            requireLive();
+            return slots[slot].asReadOnlyBuffer().position(0).limit(length);
+        }
+
+        /**
+         * Decodes the secret into characters, for APIs that only take a
+         * char array such as PBEKeySpec.
+         *
+         * @return the characters, which the caller must clear when done
+         */
+        public char[] toChars() {
+            CharBuffer decoded = StandardCharsets.UTF_8.decode(view());
+            try {
+                return Arrays.copyOfRange(decoded.array(), decoded.arrayOffset(),
+                    decoded.arrayOffset() + decoded.limit());
+            } finally {
+                Arrays.fill(decoded.array(), '\0');
+            }
+        }
+
+        /**
+         * Removes a holder, wiping the secret if it was the last one.
+         * Closing a wiped secret does nothing.
+         */
+        @Override
+        public void close() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return;
+                }
+            } while (!references.compareAndSet(count, count - 1));
+
+            if (count == 1) {
+                release(slot);
+            }
+        }
+
+        private void requireLive() {
+            if (references.get() == 0) {
+                throw new IllegalStateException("The secret was already wiped.");
+            }
+        }
+    }
+}
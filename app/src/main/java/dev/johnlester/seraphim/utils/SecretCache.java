@@ -0,0 +1,230 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A small cache of decrypted secrets, so a secret that is used again soon is
+ * not decrypted again, while plaintext never stays in memory for long.
+ * 
+ * A secret is kept for a fixed time after it was decrypted, however often it
+ * is used, and the least recently used secret is dropped when the cache is
+ * full. Dropped secrets are overwritten with zeros, and callers get a copy
+ * they clear themselves, so no plaintext outlives the cache. Expired secrets
+ * are cleared by a background sweep even when the cache is not used.
+ * 
+ * A secret decrypted while the cache was invalidated or closed is not
+ * stored: it may be older than the change, or no sweep would clear it.
+ * 
+ * @author JohnLesterDev
+ */
+public final class SecretCache implements AutoCloseable {
+    private static final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seraphim-secret-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Decrypts a secret that is not cached.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @return the plaintext, which the cache takes over
+         * @throws GeneralSecurityException if the secret cannot be decrypted
+         */
+        char[] load() throws GeneralSecurityException;
+    }
+
+    private record Slot(char[] secret, long expiresAtNanos) {
+    }
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, Slot> slots;
+    private final ScheduledFuture<?> sweep;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Incremented whenever secrets are dropped on purpose, so a load that
+     * started before is not stored.
+     */
+    private long generation;
+    private boolean closed;
+
+    /**
+     * Constructs a new cache.
+     * 
+     * @param capacity the maximum number of secrets kept
+     * @param ttl how long a secret is kept after it was decrypted
+     */
+    public SecretCache(int capacity, Duration ttl) {
+        this.capacity = capacity;
+        this.ttlNanos = ttl.toNanos();
+        this.slots = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                if (size() <= SecretCache.this.capacity) {
+                    return false;
+                }
+                Arrays.fill(eldest.getValue().secret(), '\0');
+                return true;
+            }
+        };
+
+        long period = Math.max(1, ttl.toMillis() / 2);
+        this.sweep = sweeper.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a copy of a secret, decrypting it if it is not cached. The
+     * loader runs without holding the cache, so other secrets can be read
+     * meanwhile.
+     *
+     * @param id the id of the secret
+     * @param loader decrypts the secret on a miss
+     * @return the secret, which the caller should clear when done
+     * @throws GeneralSecurityException if the loader fails
+     * @throws IllegalStateException if the cache is closed
+     */
+    public char[] get(long id, Loader loader) throws GeneralSecurityException {
+        while (true) {
+            long loadGeneration;
+            synchronized (this) {
+                requireOpen();
+                Slot slot = slots.get(id);
+                if (slot != null && System.nanoTime() - slot.expiresAtNanos() < 0) {
+                    hits++;
+                    return slot.secret().clone();
+                }
+                if (slot != null) {
+                    remove(id);
+                }
+                misses++;
+                loadGeneration = generation;
+            }
+
+            char[] secret = loader.load();
+            synchronized (this) {
+                if (closed || generation != loadGeneration) {
+                    // Invalidated or closed while loading: load again, or
+                    // fail if closed.
+                    Arrays.fill(secret, '\0');
+                    requireOpen();
+                    continue;
+                }
+
+                Slot previous = slots.put(id, new Slot(secret, System.nanoTime() + ttlNanos));
+                if (previous != null && previous.secret() != secret) {
+                    Arrays.fill(previous.secret(), '\0');
+                }
+                return secret.clone();
+            }
+        }
+    }
+
+    /**
+     * Drops a secret, e.g. after it was changed.
+     */
+    public synchronized void invalidate(long id) {
+        generation++;
+        remove(id);
+    }
+
+    /**
+     * Drops every secret.
+     */
+    public synchronized void clear() {
+        generation++;
+        for (Slot slot : slots.values()) {
+            Arrays.fill(slot.secret(), '\0');
+        }
+        slots.clear();
+    }
+
+    /**
+     * Drops the secrets whose time is up.
+     */
+    public synchronized void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Slot> iterator = slots.values().iterator();
+        while (iterator.hasNext()) {
+            Slot slot = iterator.next();
+            if (now - slot.expiresAtNanos() >= 0) {
+                Arrays.fill(slot.secret(), '\0');
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the share of reads answered without decrypting, between 0 and
+     * 1, or 0 before the first read.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Stops the background sweep and drops every secret. Loads still running
+     * are discarded.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        sweep.cancel(false);
+        clear();
+    }
+
+
+    private void requireOpen() {
+        if (closed) {
+            throw new IllegalStateException("The secret cache is closed.");
+        }
+    }
+
+    private void remove(long id) {
+        Slot slot = slots.remove(id);
+        if (slot != null) {
+            Arrays.fill(slot.secret(), '\0');
+        }
+    }
+}
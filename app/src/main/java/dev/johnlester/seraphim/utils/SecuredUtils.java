@@ -50,6 +50,27 @@ public class SecuredUtils {
         return hexString.toString();
     }
 
+    /**
+     * Returns the SHA-256 hash of a secret concatenated with a salt, equal to
+     * {@code hashWithSalt(secret, salt)} for the same characters. The secret
+     * is read from the arena, not copied into a String.
+     *
+     * @param secret the secret to hash
+     * @param salt the salt to append to the secret before hashing
+     * @return the SHA-256 hash of the secret with the salt
+     * @throws NoSuchAlgorithmException if the SHA-256 hashing algorithm is not found
+     */
+    public static String hashWithSalt(SecretArena.Secret secret, String salt) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(secret.view());
+        byte[] hash = digest.digest(salt.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            hexString.append(String.format("%02x", b));
+        }
+        return hexString.toString();
+    }
+
 
     
     /**
@@ -0,0 +1,204 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Utility class that keeps a single window instance per user.
+ * 
+ * The first instance holds an exclusive lock on {@code instance.lock} and
+ * listens on {@code instance.sock}. A later launch fails to take the lock,
+ * sends its arguments over the socket and exits without loading AWT, the
+ * configuration or the database.
+ * 
+ * The lock is released by the operating system when the process ends, so a
+ * crashed instance never blocks the next launch. Only launches of the same
+ * user are accepted on the socket, see {@link LocalSockets}.
+ * 
+ * @author JohnLesterDev
+ */
+public final class SingleInstance {
+    private static final int CONNECT_ATTEMPTS = 40;
+    private static final long CONNECT_RETRY_MILLIS = 25;
+    private static final int ACK = 1;
+
+    private static FileChannel lockChannel;
+    private static FileLock lock;
+    private static ServerSocketChannel server;
+
+    /**
+     * Becomes the running instance, or hands the arguments to it.
+     *
+     * @param directory the directory of the lock file and the socket
+     * @param args the arguments of this launch
+     * @param onActivate called on a background thread with the arguments of
+     *                   every later launch
+     * @return true if this process is the running instance, false if the
+     *         arguments were handed to another one and this process should exit
+     * @throws IOException if another instance holds the lock but does not
+     *         answer on its socket
+     */
+    public static synchronized boolean acquire(Path directory, String[] args, Consumer<List<String>> onActivate)
+            throws IOException {
+        if (lock != null) {
+            return true;
+        }
+
+        // Only the owner can enter the directory, so nobody else can
+        // connect before the socket file is restricted.
+        LocalSockets.createPrivateDirectory(directory);
+        Path lockPath = directory.resolve("instance.lock");
+        Path socketPath = directory.resolve("instance.sock");
+
+        FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired = channel.tryLock();
+        if (acquired == null) {
+            channel.close();
+            forward(socketPath, args);
+            return false;
+        }
+
+        try {
+            // Holding the lock, any socket file was left behind by a crash.
+            Files.deleteIfExists(socketPath);
+            ServerSocketChannel listener = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            listener.bind(UnixDomainSocketAddress.of(socketPath));
+            LocalSockets.restrictToOwner(socketPath);
+
+            lockChannel = channel;
+            lock = acquired;
+            server = listener;
+        } catch (IOException | RuntimeException e) {
+            acquired.release();
+            channel.close();
+            throw e;
+        }
+
+        Thread thread = new Thread(() -> listen(onActivate), "seraphim-instance");
+        thread.setDaemon(true);
+        thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> release(socketPath), "seraphim-instance-release"));
+        return true;
+    }
+
+    /**
+     * Sends the arguments to the running instance. The instance may have
+     * taken the lock but not bound its socket yet, so connecting is retried
+     * for about a second.
+     */
+    private static void forward(Path socketPath, String[] args) throws IOException {
+        try (SocketChannel channel = connect(socketPath)) {
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(args.length);
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+
+            if (new DataInputStream(Channels.newInputStream(channel)).read() != ACK) {
+                throw new IOException("The running instance did not acknowledge the activation.");
+            }
+        }
+    }
+
+    private static SocketChannel connect(Path socketPath) throws IOException {
+        IOException failure = null;
+        for (int attempt = 0; attempt < CONNECT_ATTEMPTS; attempt++) {
+            try {
+                return SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            try {
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IOException("Another instance is running but does not answer on " + socketPath + ".", failure);
+    }
+
+    private static void listen(Consumer<List<String>> onActivate) {
+        while (server.isOpen()) {
+            try (SocketChannel channel = server.accept()) {
+                if (!LocalSockets.isOwnPeer(channel)) {
+                    continue;
+                }
+
+                DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+                int count = in.readInt();
+                if (count < 0 || count > 1024) {
+                    continue;
+                }
+
+                List<String> args = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    args.add(in.readUTF());
+                }
+
+                // Acknowledge first, the launching process is waiting to exit.
+                Channels.newOutputStream(channel).write(ACK);
+                onActivate.accept(args);
+            } catch (IOException e) {
+                if (!server.isOpen()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static synchronized void release(Path socketPath) {
+        try {
+            server.close();
+            Files.deleteIfExists(socketPath);
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            // The process is exiting, the lock goes with it.
+        }
+    }
+
+
+    private SingleInstance() {
+        throw new AssertionError("SingleInstance is a utility class and cannot be instantiated.");
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs the startup of the application as a set of phases with explicit
+ * dependencies. Independent phases run concurrently on a small pool of
+ * threads, and phases that build Swing components run on the EDT.
+ * Every phase is timed so the startup can be traced.
+ * 
+ * <pre>
+ * new StartupPipeline()
+ *     .phase("config", ConfigUtils::init)
+ *     .phase("icons", AuthenticationView::preloadResources)
+ *     .edtPhase("assemble", App::showWindow, "config", "icons")
+ *     .start();
+ * </pre>
+ * 
+ * @author JohnLesterDev
+ */
+public class StartupPipeline {
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private long startNanos;
+
+    private static final class Phase {
+        private final String name;
+        private final Runnable task;
+        private final boolean onEdt;
+        private final String[] dependencies;
+        private CompletableFuture<Void> future;
+        private volatile long beginNanos;
+        private volatile long endNanos;
+        private volatile String threadName;
+        private volatile Throwable failure;
+
+        private Phase(String name, Runnable task, boolean onEdt, String[] dependencies) {
+            this.name = name;
+            this.task = task;
+            this.onEdt = onEdt;
+            this.dependencies = dependencies;
+        }
+    }
+
+    public StartupPipeline() {
+        this(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * Constructs a new pipeline.
+     * 
+     * @param threads The number of threads running background phases.
+     */
+    public StartupPipeline(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            // Not daemon threads, so the JVM stays up until every phase is done.
+            return new Thread(runnable, "Seraphim startup-" + counter.incrementAndGet());
+        });
+    }
+
+    /**
+     * Adds a phase that runs on a background thread.
+     * 
+     * @param name The name of the phase.
+     * @param task The work of the phase.
+     * @param dependencies The phases that must finish before this one starts.
+     * @return this pipeline
+     */
+    public StartupPipeline phase(String name, Runnable task, String... dependencies) {
+        return add(new Phase(name, task, false, dependencies));
+    }
+
+    /**
+     * Adds a phase that runs on the Event Dispatch Thread.
+     * 
+     * @param name The name of the phase.
+     * @param task The work of the phase.
+     * @param dependencies The phases that must finish before this one starts.
+     * @return this pipeline
+     */
+    public StartupPipeline edtPhase(String name, Runnable task, String... dependencies) {
+        return add(new Phase(name, task, true, dependencies));
+    }
+
+    private StartupPipeline add(Phase phase) {
+        if (phases.containsKey(phase.name)) {
+            throw new IllegalArgumentException("Duplicate startup phase: " + phase.name);
+        }
+        for (String dependency : phase.dependencies) {
+            if (!phases.containsKey(dependency)) {
+                throw new IllegalArgumentException(
+                    "Startup phase " + phase.name + " depends on unknown phase: " + dependency);
+            }
+        }
+
+        phases.put(phase.name, phase);
+        return this;
+    }
+
+    /**
+     * Starts every phase as soon as its dependencies are done. A phase whose
+     * dependency failed does not run.
+     * 
+     * @return a future completing when every phase has finished, or
+     *         exceptionally if any phase failed
+     */
+    public CompletableFuture<Void> start() {
+        startNanos = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (Phase phase : phases.values()) {
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[phase.dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = phases.get(phase.dependencies[i]).future;
+            }
+
+            phase.future = CompletableFuture.allOf(dependencies).thenRunAsync(
+                () -> run(phase),
+                phase.onEdt ? SwingUtilities::invokeLater : executor
+            );
+            futures.add(phase.future);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((result, failure) -> executor.shutdown());
+    }
+
+    private void run(Phase phase) {
+        phase.threadName = Thread.currentThread().getName();
+        phase.beginNanos = System.nanoTime();
+        try {
+            phase.task.run();
+        } catch (RuntimeException | Error e) {
+            phase.failure = e;
+            e.printStackTrace();
+            throw e;
+        } finally {
+            phase.endNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Prints when every phase started, how long it took and where it ran.
+     * 
+     * @param out The stream to print to.
+     */
+    public void printTrace(PrintStream out) {
+        long lastEnd = startNanos;
+
+        for (Phase phase : phases.values()) {
+            if (phase.beginNanos == 0) {
+                out.println(String.format("[startup] %-12s skipped", phase.name));
+                continue;
+            }
+
+            lastEnd = Math.max(lastEnd, phase.endNanos);
+            out.println(String.format("[startup] %-12s +%7.1fms %7.1fms  %s%s",
+                phase.name,
+                (phase.beginNanos - startNanos) / 1_000_000.0,
+                (phase.endNanos - phase.beginNanos) / 1_000_000.0,
+                phase.threadName,
+                phase.failure == null ? "" : "  FAILED: " + phase.failure));
+        }
+
+        out.println(String.format("[startup] %-12s  %7.1fms", "total", (lastEnd - startNanos) / 1_000_000.0));
+    }
+}
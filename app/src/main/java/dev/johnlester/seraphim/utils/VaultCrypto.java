@@ -0,0 +1,276 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+
+/**
+ * Utility class for encrypting vault secrets with AES-GCM under a key derived
+ * from the master password.
+ * 
+ * A sealed secret is the 12 byte nonce followed by the ciphertext and the
+ * 16 byte authentication tag. The tag also covers associated data given
+ * when sealing, which is not stored; a vault secret is bound to its owner
+ * and entry with {@link #entryBinding(long, long)}, so it does not open when
+ * it is moved to another row.
+ * 
+ * The master password is checked against a verifier computed from the vault
+ * key, not against a fast hash of the password, so guessing the password
+ * from a copy of the database costs a full key derivation per guess.
+ * 
+ * @author JohnLesterDev
+ */
+public final class VaultCrypto {
+    /**
+     * PBKDF2 iterations of the vault key. Deriving the key is most of the
+     * cost of a single command line lookup, so this is balanced against the
+     * cold start of the CLI.
+     */
+    public static final int KEY_ITERATIONS = 120_000;
+
+    /**
+     * Marks a password verifier from {@link #verifier(SecretKey)}. Hashes
+     * without it are plain SHA-256 hashes of the password and its salt,
+     * written before the verifier existed.
+     */
+    public static final String VERIFIER_PREFIX = "pbkdf2-hmac-sha256:";
+
+    private static final String KEY_SALT_PREFIX = "seraphim-vault-key:";
+    private static final byte[] ENTRY_LABEL = "seraphim-vault-entry:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] VERIFIER_LABEL = "seraphim-password-verifier".getBytes(StandardCharsets.UTF_8);
+    private static final int KEY_BITS = 256;
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    /**
+     * Derives the vault key of a user from the master password and the salt
+     * stored with the user. The salt is prefixed so the key never equals a
+     * value derived for authentication.
+     *
+     * @param password the master password, not cleared by this method
+     * @param salt the password salt of the user
+     * @return the AES key of the vault
+     * @throws GeneralSecurityException if PBKDF2 is not available
+     */
+    public static SecretKey deriveKey(char[] password, String salt) throws GeneralSecurityException {
+        byte[] saltBytes = (KEY_SALT_PREFIX + salt).getBytes(StandardCharsets.UTF_8);
+        PBEKeySpec spec = new PBEKeySpec(password, saltBytes, KEY_ITERATIONS, KEY_BITS);
+        try {
+            byte[] encoded = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                .generateSecret(spec)
+                .getEncoded();
+            try {
+                return new SecretKeySpec(encoded, "AES");
+            } finally {
+                Arrays.fill(encoded, (byte) 0);
+            }
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Derives the vault key from a master password held in the
+     * {@link SecretArena}. The characters only exist on the heap while the
+     * key is derived.
+     *
+     * @param password the master password, not closed by this method
+     * @param salt the password salt of the user
+     * @return the AES key of the vault
+     * @throws GeneralSecurityException if PBKDF2 is not available
+     */
+    public static SecretKey deriveKey(SecretArena.Secret password, String salt) throws GeneralSecurityException {
+        char[] chars = password.toChars();
+        try {
+            return deriveKey(chars, salt);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    /**
+     * Returns the value stored to check the master password: an HMAC of a
+     * fixed label under the vault key. It reveals nothing about the key, and
+     * checking a password against it costs a key derivation.
+     *
+     * @param key the vault key
+     * @return the verifier, starting with {@link #VERIFIER_PREFIX}
+     * @throws GeneralSecurityException if HMAC-SHA256 is not available
+     */
+    public static String verifier(SecretKey key) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+        return VERIFIER_PREFIX + HexFormat.of().formatHex(mac.doFinal(VERIFIER_LABEL));
+    }
+
+    /**
+     * Checks a vault key against a stored verifier in constant time.
+     *
+     * @param key the key derived from the given password
+     * @param verifier the stored verifier
+     * @return whether the key is the one the verifier was computed from
+     * @throws GeneralSecurityException if HMAC-SHA256 is not available
+     */
+    public static boolean matchesVerifier(SecretKey key, String verifier) throws GeneralSecurityException {
+        return MessageDigest.isEqual(
+            verifier(key).getBytes(StandardCharsets.US_ASCII),
+            verifier.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the associated data that binds a sealed secret to the row of
+     * its vault entry.
+     *
+     * @param ownerId the id of the owning user
+     * @param entryId the id of the entry
+     * @return the associated data for sealing and opening the secret
+     */
+    public static byte[] entryBinding(long ownerId, long entryId) {
+        return ByteBuffer.allocate(ENTRY_LABEL.length + 2 * Long.BYTES)
+            .put(ENTRY_LABEL)
+            .putLong(ownerId)
+            .putLong(entryId)
+            .array();
+    }
+
+    /**
+     * Encrypts a secret with a fresh random nonce.
+     *
+     * @param key the vault key
+     * @param plaintext the secret, not cleared by this method
+     * @param associatedData authenticated with the secret, which only opens
+     *                       with the same data; null for none
+     * @return the sealed secret
+     * @throws GeneralSecurityException if AES-GCM is not available
+     */
+    public static byte[] seal(SecretKey key, byte[] plaintext, byte[] associatedData) throws GeneralSecurityException {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+
+        Cipher cipher = newCipher();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+        if (associatedData != null) {
+            cipher.updateAAD(associatedData);
+        }
+
+        ByteBuffer sealed = ByteBuffer.allocate(NONCE_BYTES + cipher.getOutputSize(plaintext.length));
+        sealed.put(nonce);
+        cipher.doFinal(ByteBuffer.wrap(plaintext), sealed);
+        return sealed.array();
+    }
+
+    /**
+     * Decrypts a sealed secret.
+     *
+     * @param key the vault key
+     * @param sealed the sealed secret
+     * @param associatedData the data it was sealed with, or null for none
+     * @return the plaintext, which the caller should clear when done
+     * @throws GeneralSecurityException if the key or associated data is
+     *         wrong, or the secret was modified
+     */
+    public static byte[] open(SecretKey key, byte[] sealed, byte[] associatedData) throws GeneralSecurityException {
+        return open(newCipher(), key, sealed, associatedData);
+    }
+
+    /**
+     * Decrypts a sealed secret with a cipher that is reused across calls,
+     * which saves the provider lookup of {@link Cipher#getInstance(String)}.
+     * The cipher must only be used by one thread.
+     *
+     * @param cipher a cipher from {@link #newCipher()}
+     * @param key the vault key
+     * @param sealed the sealed secret
+     * @param associatedData the data it was sealed with, or null for none
+     * @return the plaintext, which the caller should clear when done
+     * @throws GeneralSecurityException if the key or associated data is
+     *         wrong, or the secret was modified
+     */
+    public static byte[] open(Cipher cipher, SecretKey key, byte[] sealed, byte[] associatedData)
+            throws GeneralSecurityException {
+        if (sealed.length < NONCE_BYTES) {
+            throw new GeneralSecurityException("Sealed secret is too short.");
+        }
+
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, NONCE_BYTES));
+        if (associatedData != null) {
+            cipher.updateAAD(associatedData);
+        }
+        return cipher.doFinal(sealed, NONCE_BYTES, sealed.length - NONCE_BYTES);
+    }
+
+    /**
+     * Decrypts a sealed UTF-8 secret into characters, without creating a
+     * String the caller could not clear.
+     *
+     * @param cipher a cipher from {@link #newCipher()}, used by one thread
+     * @param key the vault key
+     * @param sealed the sealed secret
+     * @param associatedData the data it was sealed with, or null for none
+     * @return the secret, which the caller should clear when done
+     * @throws GeneralSecurityException if the key or associated data is
+     *         wrong, or the secret was modified
+     */
+    public static char[] openChars(Cipher cipher, SecretKey key, byte[] sealed, byte[] associatedData)
+            throws GeneralSecurityException {
+        byte[] plaintext = open(cipher, key, sealed, associatedData);
+        CharBuffer decoded = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(plaintext));
+        try {
+            return Arrays.copyOfRange(decoded.array(), decoded.arrayOffset() + decoded.position(),
+                decoded.arrayOffset() + decoded.limit());
+        } finally {
+            Arrays.fill(plaintext, (byte) 0);
+            Arrays.fill(decoded.array(), '\0');
+        }
+    }
+
+
+    /**
+     * Returns a new AES-GCM cipher for {@link #open(Cipher, SecretKey, byte[], byte[])}.
+     *
+     * @throws GeneralSecurityException if AES-GCM is not available
+     */
+    public static Cipher newCipher() throws GeneralSecurityException {
+        return Cipher.getInstance("AES/GCM/NoPadding");
+    }
+
+
+    private VaultCrypto() {
+        throw new AssertionError("VaultCrypto is a utility class and cannot be instantiated.");
+    }
+}
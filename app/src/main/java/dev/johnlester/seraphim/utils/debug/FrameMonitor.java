@@ -0,0 +1,294 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import dev.johnlester.seraphim.utils.effect.AnimationScheduler;
+
+/**
+ * Records animation frame times and EDT responsiveness.
+ * 
+ * Once installed, the {@link AnimationScheduler} pulse reports its frame
+ * interval and work time, an instrumented event queue reports how long
+ * events waited and ran, and a watchdog thread samples the EDT stack when an
+ * event blocks it for longer than {@link #LONG_EVENT_THRESHOLD_MILLIS}, so
+ * the code that caused the stutter can be shown. Samples go into lock-free
+ * ring buffers, so recording never blocks the EDT.
+ * 
+ * Nothing is installed until the debug overlay is first shown, and the
+ * watchdog only runs while it is visible, see {@link JankOverlay}. An event
+ * dispatched inside another one, as by a modal dialog, is timed on its own,
+ * and the outer event is not charged for it.
+ * 
+ * This class cannot be instantiated.
+ * 
+ * @author JohnLesterDev
+ */
+public final class FrameMonitor {
+    /**
+     * Events running longer than one 60 Hz frame are reported as long events.
+     */
+    public static final long LONG_EVENT_THRESHOLD_MILLIS = 16;
+
+    private static final long LONG_EVENT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(LONG_EVENT_THRESHOLD_MILLIS);
+    private static final long WATCHDOG_INTERVAL_MILLIS = 4;
+
+    /**
+     * Pulses further apart than this belong to separate animations.
+     */
+    private static final long MAX_FRAME_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final int CAPACITY = 512;
+    private static final String APP_PACKAGE = "dev.johnlester.seraphim.";
+    private static final String DEBUG_PACKAGE = "dev.johnlester.seraphim.utils.debug.";
+
+    private static final LongRingBuffer frameIntervals = new LongRingBuffer(CAPACITY);
+    private static final LongRingBuffer pulseWork = new LongRingBuffer(CAPACITY);
+    private static final LongRingBuffer queueDelays = new LongRingBuffer(CAPACITY);
+    private static final LongRingBuffer eventDurations = new LongRingBuffer(CAPACITY);
+    private static final RingBuffer<LongEvent> longEvents = new RingBuffer<>(64);
+
+    private static volatile boolean installed = false;
+    private static volatile EventQueue eventQueue;
+    private static Thread watchdog;
+    private static long lastPulseNanos;
+
+    // Shared between the EDT and the watchdog thread. The start of the
+    // innermost dispatch, moved forward by the time spent in events
+    // dispatched inside it.
+    private static volatile Thread dispatchThread;
+    private static volatile long dispatchStartNanos;
+    private static volatile String blockingLocation;
+
+    // EDT only: the dispatches in progress, the innermost last.
+    private static long[] dispatchBegins = new long[8];
+    private static long[] dispatchStarts = new long[8];
+    private static String[] dispatchLocations = new String[8];
+    private static int dispatchDepth;
+
+    private FrameMonitor() {
+        throw new AssertionError("FrameMonitor is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Installs the instrumented event queue and the pulse listener. Calling
+     * it again does nothing.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        EventQueue queue = new InstrumentedEventQueue();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+        eventQueue = queue;
+        AnimationScheduler.setPulseListener(FrameMonitor::recordPulse);
+    }
+
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * Starts or stops the watchdog thread that samples the EDT stack during
+     * long events.
+     * 
+     * @param running whether the watchdog should run
+     */
+    public static synchronized void setWatchdogRunning(boolean running) {
+        if (running && watchdog == null) {
+            watchdog = new Thread(FrameMonitor::watch, "Seraphim EDT watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        } else if (!running && watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+    }
+
+    /**
+     * Returns the queue events are dispatched from: the instrumented queue
+     * once installed, otherwise the system event queue. A queue pushed over
+     * another one takes its events, so only the top one can be peeked.
+     * 
+     * @return the active event queue
+     */
+    public static EventQueue getEventQueue() {
+        EventQueue queue = eventQueue;
+        return queue != null ? queue : Toolkit.getDefaultToolkit().getSystemEventQueue();
+    }
+
+    private static void recordPulse(long frameTimeNanos, long workNanos) {
+        long interval = frameTimeNanos - lastPulseNanos;
+        if (lastPulseNanos != 0 && interval < MAX_FRAME_INTERVAL_NANOS) {
+            frameIntervals.add(interval);
+        }
+        lastPulseNanos = frameTimeNanos;
+        pulseWork.add(workNanos);
+    }
+
+    static void recordQueueDelay(long delayMillis) {
+        queueDelays.add(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    static void beginDispatch(long startNanos) {
+        if (dispatchDepth == dispatchBegins.length) {
+            dispatchBegins = Arrays.copyOf(dispatchBegins, dispatchDepth * 2);
+            dispatchStarts = Arrays.copyOf(dispatchStarts, dispatchDepth * 2);
+            dispatchLocations = Arrays.copyOf(dispatchLocations, dispatchDepth * 2);
+        }
+        if (dispatchDepth > 0) {
+            dispatchLocations[dispatchDepth - 1] = blockingLocation;
+        }
+        dispatchBegins[dispatchDepth] = startNanos;
+        dispatchStarts[dispatchDepth] = startNanos;
+        dispatchDepth++;
+
+        blockingLocation = null;
+        dispatchThread = Thread.currentThread();
+        dispatchStartNanos = startNanos;
+    }
+
+    static void recordWait(long waitNanos) {
+        if (dispatchDepth > 0 && Thread.currentThread() == dispatchThread) {
+            dispatchStarts[dispatchDepth - 1] += waitNanos;
+            dispatchStartNanos = dispatchStarts[dispatchDepth - 1];
+        }
+    }
+
+    static void endDispatch(AWTEvent event, long endNanos) {
+        int depth = --dispatchDepth;
+        long durationNanos = endNanos - dispatchStarts[depth];
+        String location = blockingLocation;
+
+        if (depth > 0) {
+            // The outer event did not block the EDT while this one ran.
+            dispatchStarts[depth - 1] += endNanos - dispatchBegins[depth];
+            blockingLocation = dispatchLocations[depth - 1];
+            dispatchLocations[depth - 1] = null;
+            dispatchStartNanos = dispatchStarts[depth - 1];
+        } else {
+            dispatchStartNanos = 0;
+        }
+        eventDurations.add(durationNanos);
+
+        if (durationNanos > LONG_EVENT_THRESHOLD_NANOS) {
+            longEvents.add(new LongEvent(
+                System.currentTimeMillis(),
+                durationNanos,
+                event.getClass().getSimpleName(),
+                location == null ? "unknown" : location
+            ));
+        }
+    }
+
+    /**
+     * Samples the EDT stack once per long event, while it is still blocking.
+     */
+    private static void watch() {
+        while (true) {
+            try {
+                Thread.sleep(WATCHDOG_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long start = dispatchStartNanos;
+            Thread thread = dispatchThread;
+            if (start == 0 || thread == null || blockingLocation != null) {
+                continue;
+            }
+
+            if (System.nanoTime() - start > LONG_EVENT_THRESHOLD_NANOS) {
+                String location = locate(thread.getStackTrace());
+                // Only keep it if the same event is still running.
+                if (dispatchStartNanos == start) {
+                    blockingLocation = location;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the innermost application frame, or the top frame if the EDT
+     * was blocked outside of application code.
+     */
+    private static String locate(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (className.startsWith(APP_PACKAGE) && !className.startsWith(DEBUG_PACKAGE)) {
+                return frame.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "unknown";
+    }
+
+    /**
+     * Returns the time between consecutive animation pulses.
+     * 
+     * @return the frame intervals in nanoseconds
+     */
+    public static LongRingBuffer getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    /**
+     * Returns the time each animation pulse spent advancing animations.
+     * 
+     * @return the pulse work times in nanoseconds
+     */
+    public static LongRingBuffer getPulseWork() {
+        return pulseWork;
+    }
+
+    /**
+     * Returns how long events waited in the queue before being dispatched.
+     * 
+     * @return the queue delays in nanoseconds, with millisecond resolution
+     */
+    public static LongRingBuffer getQueueDelays() {
+        return queueDelays;
+    }
+
+    /**
+     * Returns how long every EDT event took to dispatch.
+     * 
+     * @return the event durations in nanoseconds
+     */
+    public static LongRingBuffer getEventDurations() {
+        return eventDurations;
+    }
+
+    /**
+     * Returns the events that blocked the EDT for longer than one frame.
+     * 
+     * @return the long events
+     */
+    public static RingBuffer<LongEvent> getLongEvents() {
+        return longEvents;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.InvocationEvent;
+
+/**
+ * Event queue that times how long every event waited in the queue and how
+ * long it took to dispatch, and reports both to the {@link FrameMonitor}.
+ * 
+ * @author JohnLesterDev
+ */
+class InstrumentedEventQueue extends EventQueue {
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long queuedAt = postedAtMillis(event);
+        if (queuedAt > 0) {
+            FrameMonitor.recordQueueDelay(Math.max(0, System.currentTimeMillis() - queuedAt));
+        }
+
+        FrameMonitor.beginDispatch(System.nanoTime());
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            FrameMonitor.endDispatch(event, System.nanoTime());
+        }
+    }
+
+    /**
+     * Waiting for an event inside another one, as a modal dialog does, does
+     * not block the EDT, so the wait is not charged to the outer event.
+     */
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            return super.getNextEvent();
+        } finally {
+            FrameMonitor.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns when the event was created, for the events that carry a time.
+     */
+    private static long postedAtMillis(AWTEvent event) {
+        if (event instanceof InputEvent input) {
+            return input.getWhen();
+        }
+        if (event instanceof InvocationEvent invocation) {
+            return invocation.getWhen();
+        }
+        if (event instanceof ActionEvent action) {
+            return action.getWhen();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.KeyStroke;
+import javax.swing.Timer;
+
+/**
+ * Debug overlay drawn on the glass pane of the main window. It shows a live
+ * graph of the animation frame intervals against the 16 ms budget, the
+ * EDT queue delay, and the last event that blocked the EDT together with the
+ * code that was running.
+ * 
+ * Toggled with Ctrl+Shift+D, or shown at startup with
+ * {@code -Dseraphim.debugOverlay=true}. The {@link FrameMonitor} is only
+ * installed the first time the overlay is shown, and its watchdog only runs
+ * while the overlay is visible, so a window that never shows it is not
+ * instrumented.
+ * 
+ * @author JohnLesterDev
+ */
+public class JankOverlay extends JComponent {
+    private static final String TOGGLE_ACTION = "toggleJankOverlay";
+    private static final int REFRESH_MILLIS = 100;
+    private static final int GRAPH_SAMPLES = 120;
+    private static final int GRAPH_HEIGHT = 60;
+    private static final int BAR_WIDTH = 2;
+    private static final int PADDING = 6;
+
+    /**
+     * The frame interval drawn at the full height of the graph.
+     */
+    private static final double GRAPH_MAX_MILLIS = 50.0;
+
+    private static final Color BACKGROUND = new Color(0, 0, 0, 180);
+    private static final Color GOOD = new Color(80, 200, 120);
+    private static final Color JANK = new Color(230, 80, 70);
+    private static final Color BUDGET = new Color(255, 255, 255, 120);
+
+    private final long[] samples = new long[GRAPH_SAMPLES];
+    private final Timer refreshTimer = new Timer(REFRESH_MILLIS, e -> repaint());
+
+    /**
+     * Installs the overlay as the glass pane of the given frame and binds
+     * Ctrl+Shift+D to toggle it.
+     * 
+     * @param frame The main window.
+     * @return the installed overlay
+     */
+    public static JankOverlay install(JFrame frame) {
+        JankOverlay overlay = new JankOverlay();
+        frame.setGlassPane(overlay);
+
+        JComponent root = frame.getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+            KeyStroke.getKeyStroke(KeyEvent.VK_D, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK),
+            TOGGLE_ACTION
+        );
+        root.getActionMap().put(TOGGLE_ACTION, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                overlay.setVisible(!overlay.isVisible());
+            }
+        });
+
+        overlay.setVisible(Boolean.getBoolean("seraphim.debugOverlay"));
+        return overlay;
+    }
+
+    public JankOverlay() {
+        setOpaque(false);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+
+        if (visible) {
+            FrameMonitor.install();
+            FrameMonitor.setWatchdogRunning(true);
+            refreshTimer.start();
+        } else {
+            FrameMonitor.setWatchdogRunning(false);
+            refreshTimer.stop();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setFont(getFont());
+
+        LongEvent longEvent = FrameMonitor.getLongEvents().latest();
+        int lineHeight = g2.getFontMetrics().getHeight();
+        int width = GRAPH_SAMPLES * BAR_WIDTH + PADDING * 2;
+        if (longEvent != null) {
+            width = Math.max(width, g2.getFontMetrics().stringWidth(longEvent.toString()) + PADDING * 2);
+        }
+        int height = GRAPH_HEIGHT + lineHeight * 4 + PADDING * 3;
+
+        g2.setColor(BACKGROUND);
+        g2.fillRect(0, 0, width, height);
+
+        // Frame interval graph, newest sample on the right
+        int count = FrameMonitor.getFrameIntervals().snapshot(samples);
+        int graphBottom = PADDING + GRAPH_HEIGHT;
+        for (int i = 0; i < count; i++) {
+            double millis = samples[i] / 1_000_000.0;
+            int barHeight = (int) Math.min(GRAPH_HEIGHT, millis / GRAPH_MAX_MILLIS * GRAPH_HEIGHT);
+            int x = PADDING + (GRAPH_SAMPLES - count + i) * BAR_WIDTH;
+
+            g2.setColor(millis > FrameMonitor.LONG_EVENT_THRESHOLD_MILLIS ? JANK : GOOD);
+            g2.fillRect(x, graphBottom - barHeight, BAR_WIDTH, barHeight);
+        }
+
+        int budgetY = graphBottom - (int) (FrameMonitor.LONG_EVENT_THRESHOLD_MILLIS / GRAPH_MAX_MILLIS * GRAPH_HEIGHT);
+        g2.setColor(BUDGET);
+        g2.drawLine(PADDING, budgetY, PADDING + GRAPH_SAMPLES * BAR_WIDTH, budgetY);
+
+        int y = graphBottom + PADDING + lineHeight;
+        g2.setColor(Color.WHITE);
+        g2.drawString(String.format("frame avg %.1fms max %.1fms",
+            FrameMonitor.getFrameIntervals().average(GRAPH_SAMPLES) / 1_000_000.0,
+            FrameMonitor.getFrameIntervals().max(GRAPH_SAMPLES) / 1_000_000.0), PADDING, y);
+
+        y += lineHeight;
+        g2.drawString(String.format("pulse avg %.2fms  queue max %dms",
+            FrameMonitor.getPulseWork().average(GRAPH_SAMPLES) / 1_000_000.0,
+            FrameMonitor.getQueueDelays().max(GRAPH_SAMPLES) / 1_000_000L), PADDING, y);
+
+        y += lineHeight;
+        g2.setColor(longEvent == null ? Color.WHITE : JANK);
+        g2.drawString(String.format("long events: %d", FrameMonitor.getLongEvents().getCount()), PADDING, y);
+
+        if (longEvent != null) {
+            y += lineHeight;
+            g2.drawString(longEvent.toString(), PADDING, y);
+        }
+
+        g2.dispose();
+    }
+}
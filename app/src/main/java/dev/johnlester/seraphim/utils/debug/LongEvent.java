@@ -0,0 +1,71 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+/**
+ * An event that blocked the EDT for longer than one frame.
+ * 
+ * @author JohnLesterDev
+ */
+public final class LongEvent {
+    private final long timestampMillis;
+    private final long durationNanos;
+    private final String event;
+    private final String location;
+
+    public LongEvent(long timestampMillis, long durationNanos, String event, String location) {
+        this.timestampMillis = timestampMillis;
+        this.durationNanos = durationNanos;
+        this.event = event;
+        this.location = location;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns a short description of the event, e.g. its class.
+     * 
+     * @return the event description
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the code that was running on the EDT while the event was blocking.
+     * 
+     * @return the stack frame as a string, or "unknown" if it was not sampled
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1fms %s at %s", getDurationMillis(), event, location);
+    }
+}
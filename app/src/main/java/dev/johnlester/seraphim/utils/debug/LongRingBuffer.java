@@ -0,0 +1,120 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring of long samples. Writers claim a slot with a single atomic
+ * increment and never block; readers copy the most recent samples without
+ * locking, so recording from the EDT never waits on a reader.
+ * 
+ * @author JohnLesterDev
+ */
+public final class LongRingBuffer {
+    private final AtomicLongArray values;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    /**
+     * Constructs a new ring buffer.
+     * 
+     * @param capacity The number of samples kept, rounded up to a power of two.
+     */
+    public LongRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.values = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    public void add(long value) {
+        long slot = sequence.getAndIncrement();
+        values.lazySet((int) (slot & mask), value);
+    }
+
+    /**
+     * Copies the most recent samples, oldest first, into the given array.
+     * 
+     * @param target The array to copy into.
+     * @return the number of samples copied
+     */
+    public int snapshot(long[] target) {
+        long end = sequence.get();
+        int count = (int) Math.min(Math.min(end, values.length()), target.length);
+        long start = end - count;
+
+        for (int i = 0; i < count; i++) {
+            target[i] = values.get((int) ((start + i) & mask));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the largest of the most recent samples.
+     * 
+     * @param samples The number of recent samples to look at.
+     * @return the largest sample, or 0 if there are none
+     */
+    public long max(int samples) {
+        long end = sequence.get();
+        int count = (int) Math.min(Math.min(end, values.length()), samples);
+        long max = 0;
+
+        for (int i = 1; i <= count; i++) {
+            max = Math.max(max, values.get((int) ((end - i) & mask)));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the average of the most recent samples.
+     * 
+     * @param samples The number of recent samples to look at.
+     * @return the average, or 0 if there are none
+     */
+    public double average(int samples) {
+        long end = sequence.get();
+        int count = (int) Math.min(Math.min(end, values.length()), samples);
+        if (count == 0) {
+            return 0;
+        }
+
+        long total = 0;
+        for (int i = 1; i <= count; i++) {
+            total += values.get((int) ((end - i) & mask));
+        }
+        return (double) total / count;
+    }
+
+    /**
+     * Returns the number of samples ever added.
+     * 
+     * @return the total number of samples
+     */
+    public long getCount() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return values.length();
+    }
+}
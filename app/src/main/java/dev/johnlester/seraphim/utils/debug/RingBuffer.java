@@ -0,0 +1,85 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.debug;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of objects with the same lock-free behaviour as
+ * {@link LongRingBuffer}, for rare records such as long EDT events.
+ * 
+ * @author JohnLesterDev
+ */
+public final class RingBuffer<T> {
+    private final AtomicReferenceArray<T> values;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    /**
+     * Constructs a new ring buffer.
+     * 
+     * @param capacity The number of entries kept, rounded up to a power of two.
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.values = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(T value) {
+        long slot = sequence.getAndIncrement();
+        values.lazySet((int) (slot & mask), value);
+    }
+
+    /**
+     * Returns the most recent entry.
+     * 
+     * @return the latest entry, or null if there is none
+     */
+    public T latest() {
+        long end = sequence.get();
+        return end == 0 ? null : values.get((int) ((end - 1) & mask));
+    }
+
+    /**
+     * Returns an entry counting back from the most recent one.
+     * 
+     * @param age 0 for the latest entry, 1 for the one before, and so on.
+     * @return the entry, or null if it was overwritten or never added
+     */
+    public T get(int age) {
+        long end = sequence.get();
+        if (age < 0 || age >= Math.min(end, values.length())) {
+            return null;
+        }
+        return values.get((int) ((end - 1 - age) & mask));
+    }
+
+    /**
+     * Returns the number of entries ever added.
+     * 
+     * @return the total number of entries
+     */
+    public long getCount() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Color;
+
+import javax.swing.border.LineBorder;
+
+/**
+ * A line border whose color and thickness can be changed in place, so that
+ * a {@link ColorEffect} or {@link IntEffect} can animate it without building
+ * a new border on every frame.
+ * 
+ * The owning component has to be revalidated when the thickness changes,
+ * since that changes the border insets.
+ * 
+ * @author JohnLesterDev
+ */
+public class AnimatedLineBorder extends LineBorder {
+    public AnimatedLineBorder(Color color, int thickness) {
+        super(color, thickness);
+    }
+
+    public void setLineColor(Color color) {
+        this.lineColor = color;
+    }
+
+    public void setThickness(int thickness) {
+        this.thickness = thickness;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+/**
+ * A single running animation driven by the {@link AnimationScheduler} pulse.
+ * 
+ * @author JohnLesterDev
+ */
+public interface Animation {
+    /**
+     * Advances the animation to the given pulse time.
+     * 
+     * @param frameTimeNanos The {@link System#nanoTime()} at the start of the pulse.
+     * @return true while the animation still has frames left, false once finished
+     */
+    boolean tick(long frameTimeNanos);
+
+    /**
+     * Returns the frame rate this animation wants to run at.
+     * 
+     * @return the frames per second, or 0 to follow the display refresh rate
+     */
+    default int getFps() {
+        return 0;
+    }
+
+    /**
+     * Called when the animation is replaced or cancelled before it finished.
+     */
+    default void cancelled() {}
+}
@@ -0,0 +1,388 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+import dev.johnlester.seraphim.utils.MonitorUtils;
+
+/**
+ * Drives every running {@link Animation} from a single shared Swing timer.
+ * 
+ * Animations are keyed by their component and a channel name, so that a
+ * crossfade and a rotation on the same component can run side by side while
+ * a second animation on the same channel replaces the first one. Components
+ * touched during a pulse are repainted once after all animations have been
+ * advanced, and the timer is stopped as soon as nothing is animating.
+ * Components implementing {@link DamageTracker} only get the region that
+ * changed repainted, and the repainted pixels are counted per pulse.
+ * 
+ * The pulse runs at the highest frame rate requested by the running
+ * animations, capped at the refresh rate of the display. When a pulse takes
+ * longer than one frame the next pulse is skipped so the EDT can catch up;
+ * animations are time based, so this drops frames instead of slowing down.
+ * 
+ * All methods must be called on the Event Dispatch Thread.
+ * 
+ * @author JohnLesterDev
+ */
+public final class AnimationScheduler {
+    private static final List<Entry> entries = new ArrayList<>();
+    private static final List<JComponent> dirtyComponents = new ArrayList<>();
+    private static final Rectangle damage = new Rectangle();
+
+    private static Timer pulse;
+    private static int refreshRate;
+    private static long frameIntervalNanos;
+    private static boolean skipNextPulse;
+    private static long lastPulsePixels;
+    private static long totalPixels;
+    private static long pulseCount;
+    private static PulseListener pulseListener;
+
+    /**
+     * Notified after every pulse, e.g. to record frame times.
+     */
+    public interface PulseListener {
+        /**
+         * Called on the EDT after a pulse.
+         * 
+         * @param frameTimeNanos The {@link System#nanoTime()} at the start of the pulse.
+         * @param workNanos The time spent advancing animations and scheduling repaints.
+         */
+        void pulse(long frameTimeNanos, long workNanos);
+    }
+
+    private static final class Entry {
+        private final JComponent component;
+        private final String channel;
+        private Animation animation;
+
+        private Entry(JComponent component, String channel, Animation animation) {
+            this.component = component;
+            this.channel = channel;
+            this.animation = animation;
+        }
+    }
+
+    private AnimationScheduler() {
+        throw new AssertionError("AnimationScheduler is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Starts an animation on the given component and channel. Any animation
+     * already running on the same component and channel is cancelled.
+     * 
+     * @param component The component that is repainted after every pulse.
+     * @param channel The name of the animated property, e.g. "rotation".
+     * @param animation The animation to run.
+     */
+    public static void schedule(JComponent component, String channel, Animation animation) {
+        Entry entry = find(component, channel);
+
+        if (entry == null) {
+            entries.add(new Entry(component, channel, animation));
+        } else {
+            if (entry.animation != null) {
+                entry.animation.cancelled();
+            }
+            entry.animation = animation;
+        }
+
+        if (pulse == null) {
+            pulse = new Timer(1000 / getRefreshRate(), e -> onPulse());
+            pulse.setCoalesce(true);
+        }
+
+        updatePulseRate();
+
+        if (!pulse.isRunning()) {
+            skipNextPulse = false;
+            pulse.start();
+        }
+    }
+
+    /**
+     * Cancels the animation running on the given component and channel, if any.
+     * 
+     * @param component The animated component.
+     * @param channel The name of the animated property.
+     */
+    public static void cancel(JComponent component, String channel) {
+        Entry entry = find(component, channel);
+
+        if (entry != null && entry.animation != null) {
+            entry.animation.cancelled();
+            entry.animation = null;
+        }
+    }
+
+    /**
+     * Returns whether an animation is running on the given component and channel.
+     * 
+     * @param component The animated component.
+     * @param channel The name of the animated property.
+     * @return true if an animation is running
+     */
+    public static boolean isAnimating(JComponent component, String channel) {
+        Entry entry = find(component, channel);
+        return entry != null && entry.animation != null;
+    }
+
+    /**
+     * Returns whether the given animation is the one running on the given
+     * component and channel.
+     * 
+     * @param component The animated component.
+     * @param channel The name of the animated property.
+     * @param animation The animation to look for.
+     * @return true if that animation is running there
+     */
+    public static boolean isScheduled(JComponent component, String channel, Animation animation) {
+        Entry entry = find(component, channel);
+        return entry != null && entry.animation == animation;
+    }
+
+    /**
+     * Returns the number of animations currently running.
+     * 
+     * @return the number of running animations
+     */
+    public static int getActiveCount() {
+        int count = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).animation != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns whether the shared pulse is stopped because nothing is animating.
+     * 
+     * @return true if the scheduler is idle
+     */
+    public static boolean isIdle() {
+        return pulse == null || !pulse.isRunning();
+    }
+
+    /**
+     * Returns the refresh rate of the display the pulse is capped at.
+     * 
+     * @return the refresh rate in hertz
+     */
+    public static int getRefreshRate() {
+        if (refreshRate <= 0) {
+            refreshRate = MonitorUtils.getRefreshRate();
+        }
+        return refreshRate;
+    }
+
+    /**
+     * Returns the time between two pulses at the current pulse rate.
+     * 
+     * @return the frame interval in nanoseconds
+     */
+    public static long getFrameIntervalNanos() {
+        if (frameIntervalNanos == 0) {
+            frameIntervalNanos = 1_000_000_000L / getRefreshRate();
+        }
+        return frameIntervalNanos;
+    }
+
+    /**
+     * Converts a requested frame rate into a frame interval, where 0 or less
+     * follows the refresh rate and anything above it is capped.
+     * 
+     * @param fps The requested frames per second.
+     * @return the frame interval in nanoseconds
+     */
+    public static long toFrameIntervalNanos(int fps) {
+        int rate = getRefreshRate();
+        if (fps > 0 && fps < rate) {
+            rate = fps;
+        }
+        return 1_000_000_000L / rate;
+    }
+
+    private static void updatePulseRate() {
+        int fps = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Animation animation = entries.get(i).animation;
+            if (animation == null) {
+                continue;
+            }
+
+            int requested = animation.getFps() > 0 ? animation.getFps() : getRefreshRate();
+            if (requested > fps) {
+                fps = requested;
+            }
+        }
+
+        frameIntervalNanos = toFrameIntervalNanos(fps);
+        int delay = (int) Math.max(1, frameIntervalNanos / 1_000_000L);
+        if (pulse.getDelay() != delay) {
+            pulse.setDelay(delay);
+            pulse.setInitialDelay(delay);
+        }
+    }
+
+    /**
+     * Repaints the damaged region of a component, or all of it when the
+     * component does not track its damage.
+     * 
+     * @return the number of pixels scheduled for repaint
+     */
+    private static long repaintDamage(JComponent component) {
+        if (component instanceof DamageTracker tracker) {
+            damage.setBounds(0, 0, 0, 0);
+
+            if (tracker.collectDamage(damage)) {
+                if (damage.isEmpty()) {
+                    return 0;
+                }
+
+                component.repaint(damage.x, damage.y, damage.width, damage.height);
+                return (long) damage.width * damage.height;
+            }
+        }
+
+        component.repaint();
+        return (long) component.getWidth() * component.getHeight();
+    }
+
+    /**
+     * Sets the listener notified after every pulse, replacing the previous one.
+     * 
+     * @param listener The listener, or null to remove it.
+     */
+    public static void setPulseListener(PulseListener listener) {
+        pulseListener = listener;
+    }
+
+    /**
+     * Returns the number of pixels repainted by the last pulse.
+     * 
+     * @return the pixels repainted by the last pulse
+     */
+    public static long getLastPulsePixels() {
+        return lastPulsePixels;
+    }
+
+    /**
+     * Returns the average number of pixels repainted per pulse since the
+     * statistics were last reset.
+     * 
+     * @return the average pixels repainted per pulse
+     */
+    public static double getAveragePulsePixels() {
+        return pulseCount == 0 ? 0 : (double) totalPixels / pulseCount;
+    }
+
+    public static void resetRepaintStats() {
+        lastPulsePixels = 0;
+        totalPixels = 0;
+        pulseCount = 0;
+    }
+
+    private static Entry find(JComponent component, String channel) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.component == component && entry.channel.equals(channel)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static void onPulse() {
+        if (skipNextPulse) {
+            skipNextPulse = false;
+            return;
+        }
+
+        long frameTimeNanos = System.nanoTime();
+
+        // Entries scheduled during this pulse are appended and ticked right away.
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            Animation animation = entry.animation;
+
+            if (animation == null) {
+                continue;
+            }
+
+            boolean running = animation.tick(frameTimeNanos);
+
+            if (!running && entry.animation == animation) {
+                entry.animation = null;
+            }
+
+            if (!dirtyComponents.contains(entry.component)) {
+                dirtyComponents.add(entry.component);
+            }
+        }
+
+        long pixels = 0;
+        for (int i = 0; i < dirtyComponents.size(); i++) {
+            pixels += repaintDamage(dirtyComponents.get(i));
+        }
+        dirtyComponents.clear();
+
+        lastPulsePixels = pixels;
+        totalPixels += pixels;
+        pulseCount++;
+
+        int size = entries.size();
+        int alive = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.animation != null) {
+                entries.set(alive++, entry);
+            }
+        }
+        while (entries.size() > alive) {
+            entries.remove(entries.size() - 1);
+        }
+
+        long workNanos = System.nanoTime() - frameTimeNanos;
+        if (pulseListener != null) {
+            pulseListener.pulse(frameTimeNanos, workNanos);
+        }
+
+        if (entries.isEmpty()) {
+            pulse.stop();
+            return;
+        }
+
+        if (alive < size) {
+            updatePulseRate();
+        }
+
+        skipNextPulse = workNanos > getFrameIntervalNanos();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+
+/**
+ * This abstract class provides the timing shared by all effects. It keeps
+ * the start time, frame pacing and frame statistics, and hands the eased
+ * progress of every frame to {@link #apply(float)}.
+ * 
+ * An effect is its own {@link Animation}, so playing it again reuses the
+ * same instance and running it allocates nothing per frame as long as
+ * {@link #apply(float)} does not.
+ * 
+ * @author JohnLesterDev
+ */
+public abstract class BaseEffect implements Animation {
+    protected final JComponent component;
+    protected final String channel;
+    protected final int duration;
+    protected final int fps;
+    protected final EasingFunction easing;
+
+    private final FrameStats stats = new FrameStats();
+    private long durationNanos;
+    private long frameIntervalNanos;
+    private long minFrameNanos;
+    private long startNanos;
+    private long lastFrameNanos;
+
+
+    /**
+     * Constructs a new effect.
+     * 
+     * @param component The component that is repainted while the effect runs.
+     * @param channel The name of the animated property, e.g. "rotation".
+     * @param durationMillis The duration of the effect in milliseconds.
+     * @param easing The easing applied to the progress.
+     * @param fps The frame rate, or 0 to follow the display refresh rate.
+     */
+    protected BaseEffect(JComponent component, String channel, int durationMillis, EasingFunction easing, int fps) {
+        this.component = component;
+        this.channel = channel;
+        this.duration = durationMillis;
+        this.easing = easing;
+        this.fps = fps;
+    }
+
+
+    /**
+     * Applies the value of the effect at the given eased progress.
+     * 
+     * @param progress The eased progress, usually between 0 and 1.
+     */
+    protected abstract void apply(float progress);
+
+
+    /**
+     * Starts the effect on the shared {@link AnimationScheduler} pulse. A running
+     * effect on the same component and channel is replaced.
+     * 
+     * Progress is derived from the elapsed {@link System#nanoTime()}, so late
+     * pulses drop frames instead of stretching the effect. The effect updates at
+     * most {@code fps} times per second, or at the display refresh rate when
+     * {@code fps} is 0 or less.
+     */
+    public void play() {
+        playFor(Math.max(0, duration) * 1_000_000L);
+    }
+
+    /**
+     * Starts the effect like {@link #play()}, but runs it for the given time
+     * instead of the duration it was constructed with.
+     * 
+     * @param durationNanos The time the effect runs for in nanoseconds.
+     */
+    protected void playFor(long durationNanos) {
+        if (component == null) return;
+
+        start(System.nanoTime(), durationNanos);
+        AnimationScheduler.schedule(component, channel, this);
+    }
+
+    /**
+     * Resets the timing of the effect so that it starts at the given time.
+     * 
+     * @param startNanos The {@link System#nanoTime()} the effect starts at.
+     */
+    void start(long startNanos) {
+        start(startNanos, Math.max(0, duration) * 1_000_000L);
+    }
+
+    private void start(long startNanos, long durationNanos) {
+        this.durationNanos = durationNanos;
+        this.frameIntervalNanos = AnimationScheduler.toFrameIntervalNanos(fps);
+        // Pulses may arrive slightly early; only skip those well ahead of our own frame rate.
+        this.minFrameNanos = frameIntervalNanos - frameIntervalNanos / 4;
+        this.startNanos = startNanos;
+        this.lastFrameNanos = startNanos;
+        stats.reset();
+    }
+
+    @Override
+    public final boolean tick(long frameTimeNanos) {
+        long frameNanos = frameTimeNanos - lastFrameNanos;
+        long elapsedNanos = frameTimeNanos - startNanos;
+        boolean finished = elapsedNanos >= durationNanos;
+
+        if (!finished && frameNanos < minFrameNanos) {
+            return true;
+        }
+
+        int dropped = (int) Math.max(0, (frameNanos + frameIntervalNanos / 2) / frameIntervalNanos - 1);
+        stats.record(frameNanos, dropped);
+        lastFrameNanos = frameTimeNanos;
+
+        float rawProgress = finished ? 1.0f : (float) elapsedNanos / durationNanos;
+
+        // Apply easing function to the raw progress
+        apply(easing.ease(rawProgress));
+        return !finished;
+    }
+
+    @Override
+    public int getFps() {
+        return fps;
+    }
+
+    /**
+     * Returns the frame statistics of the last time this effect was played.
+     * 
+     * @return the frame statistics
+     */
+    public FrameStats getStats() {
+        return stats;
+    }
+
+    public JComponent getComponent() {
+        return component;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Color;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+import dev.johnlester.seraphim.utils.effect.IntEffect.IntUpdater;
+
+/**
+ * Effect that animates a color packed as an ARGB int.
+ * 
+ * Painting code that takes packed colors gets every frame without any
+ * allocation. For Swing properties that need a {@link Color}, the effect
+ * precomputes a palette of the whole transition once, so playing it hands
+ * out palette entries instead of creating a new {@link Color} per frame.
+ * 
+ * @author JohnLesterDev
+ */
+public class ColorEffect extends BaseEffect {
+    /**
+     * The number of palette entries, enough for every step of an 8-bit channel.
+     */
+    private static final int PALETTE_SIZE = 256;
+
+    private final int fromArgb;
+    private final int toArgb;
+    private final IntUpdater argbUpdater;
+    private final Consumer<Color> colorUpdater;
+    private final Color[] palette;
+    private int lastPaletteIndex = -1;
+
+    // Constructor for packed ARGB updates
+    public ColorEffect(
+            JComponent component,
+            String channel,
+            int fromArgb,
+            int toArgb,
+            int durationMillis,
+            IntUpdater updater,
+            EasingFunction easing,
+            int fps
+            ) {
+        super(component, channel, durationMillis, easing, fps);
+        this.fromArgb = fromArgb;
+        this.toArgb = toArgb;
+        this.argbUpdater = updater;
+        this.colorUpdater = null;
+        this.palette = null;
+    }
+
+    // Constructor for Color updates backed by a precomputed palette
+    public ColorEffect(
+            JComponent component,
+            String channel,
+            Color fromColor,
+            Color toColor,
+            int durationMillis,
+            Consumer<Color> updater,
+            EasingFunction easing,
+            int fps
+            ) {
+        super(component, channel, durationMillis, easing, fps);
+        this.fromArgb = fromColor.getRGB();
+        this.toArgb = toColor.getRGB();
+        this.argbUpdater = null;
+        this.colorUpdater = updater;
+        this.palette = new Color[PALETTE_SIZE];
+
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            palette[i] = new Color(interpolate(fromArgb, toArgb, i / (float) (PALETTE_SIZE - 1)), true);
+        }
+    }
+
+    @Override
+    public void play() {
+        lastPaletteIndex = -1;
+        super.play();
+    }
+
+    @Override
+    protected void apply(float progress) {
+        if (palette == null) {
+            argbUpdater.update(interpolate(fromArgb, toArgb, progress));
+            return;
+        }
+
+        int index = Math.round(progress * (PALETTE_SIZE - 1));
+        index = Math.max(0, Math.min(PALETTE_SIZE - 1, index));
+
+        if (index != lastPaletteIndex) {
+            lastPaletteIndex = index;
+            colorUpdater.accept(palette[index]);
+        }
+    }
+
+    /**
+     * Interpolates every channel of two packed ARGB colors.
+     * 
+     * @param from The start color as ARGB.
+     * @param to The end color as ARGB.
+     * @param progress The progress between 0 and 1.
+     * @return the interpolated color as ARGB
+     */
+    public static int interpolate(int from, int to, float progress) {
+        int a = lerpChannel(from >>> 24, to >>> 24, progress);
+        int r = lerpChannel((from >> 16) & 0xFF, (to >> 16) & 0xFF, progress);
+        int g = lerpChannel((from >> 8) & 0xFF, (to >> 8) & 0xFF, progress);
+        int b = lerpChannel(from & 0xFF, to & 0xFF, progress);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int lerpChannel(int from, int to, float progress) {
+        int value = (int) (from + (to - from) * progress);
+        return Math.max(0, Math.min(255, value));
+    }
+}
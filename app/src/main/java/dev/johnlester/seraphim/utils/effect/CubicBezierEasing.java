@@ -0,0 +1,172 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+
+/**
+ * Cubic Bezier easing with the start point (0, 0), the end point (1, 1) and
+ * the control points (x1, y1) and (x2, y2), as in CSS.
+ * 
+ * The curve is solved once per sample when it is created, so that
+ * evaluating it is a table lookup unless {@link EasingPrecision#ANALYTIC}
+ * is requested. Instances are interned by {@link EasingRegistry}.
+ * 
+ * @author JohnLesterDev
+ */
+final class CubicBezierEasing implements EasingFunction {
+    /**
+     * The number of intervals in the lookup table.
+     */
+    private static final int TABLE_INTERVALS = 256;
+
+    private static final int NEWTON_ITERATIONS = 8;
+    private static final float EPSILON = 1e-6f;
+
+    private final float x1;
+    private final float y1;
+    private final float x2;
+    private final float y2;
+    private final EasingPrecision precision;
+    private final float[] samples;
+    private final float[] tangents;
+
+    CubicBezierEasing(float x1, float y1, float x2, float y2, EasingPrecision precision) {
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.precision = precision;
+
+        if (precision == EasingPrecision.ANALYTIC) {
+            this.samples = null;
+            this.tangents = null;
+            return;
+        }
+
+        this.samples = new float[TABLE_INTERVALS + 1];
+        for (int i = 0; i <= TABLE_INTERVALS; i++) {
+            samples[i] = solve(i / (float) TABLE_INTERVALS);
+        }
+
+        if (precision == EasingPrecision.TABLE_HERMITE) {
+            // Finite difference tangents, in units of one table interval.
+            this.tangents = new float[TABLE_INTERVALS + 1];
+            for (int i = 0; i <= TABLE_INTERVALS; i++) {
+                int prev = Math.max(0, i - 1);
+                int next = Math.min(TABLE_INTERVALS, i + 1);
+                tangents[i] = (samples[next] - samples[prev]) / (next - prev);
+            }
+        } else {
+            this.tangents = null;
+        }
+    }
+
+    @Override
+    public float ease(float progress) {
+        if (progress <= 0f) return 0f;
+        if (progress >= 1f) return 1f;
+
+        if (samples == null) {
+            return solve(progress);
+        }
+
+        float position = progress * TABLE_INTERVALS;
+        int index = (int) position;
+        float fraction = position - index;
+        float from = samples[index];
+        float to = samples[index + 1];
+
+        if (tangents == null) {
+            return from + (to - from) * fraction;
+        }
+
+        float f2 = fraction * fraction;
+        float f3 = f2 * fraction;
+        return (2 * f3 - 3 * f2 + 1) * from
+            + (f3 - 2 * f2 + fraction) * tangents[index]
+            + (-2 * f3 + 3 * f2) * to
+            + (f3 - f2) * tangents[index + 1];
+    }
+
+    /**
+     * Solves the curve for the given x and returns the matching y.
+     */
+    private float solve(float x) {
+        if (x <= 0f) return 0f;
+        if (x >= 1f) return 1f;
+
+        float t = x;
+        boolean solved = false;
+
+        for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+            float error = bezier(t, x1, x2) - x;
+            if (Math.abs(error) < EPSILON) {
+                solved = true;
+                break;
+            }
+
+            float dx = bezierDerivative(t, x1, x2);
+            if (Math.abs(dx) < EPSILON) {
+                break;
+            }
+
+            t -= error / dx;
+        }
+
+        // Newton's method can stall on flat segments; fall back to bisection.
+        if (!solved || t < 0f || t > 1f) {
+            float low = 0f;
+            float high = 1f;
+            t = x;
+
+            while (high - low > EPSILON) {
+                if (bezier(t, x1, x2) < x) {
+                    low = t;
+                } else {
+                    high = t;
+                }
+                t = (low + high) / 2;
+            }
+        }
+
+        return bezier(t, y1, y2);
+    }
+
+    private static float bezier(float t, float p1, float p2) {
+        float u = 1 - t;
+        return 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t;
+    }
+
+    private static float bezierDerivative(float t, float p1, float p2) {
+        float u = 1 - t;
+        return 3 * u * u * p1 + 6 * u * t * (p2 - p1) + 3 * t * t * (1 - p2);
+    }
+
+    EasingPrecision getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cubicBezier(%s, %s, %s, %s, %s)", x1, y1, x2, y2, precision);
+    }
+}
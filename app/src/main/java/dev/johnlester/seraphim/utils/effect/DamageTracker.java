@@ -0,0 +1,42 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Rectangle;
+
+/**
+ * Implemented by animated components that know which part of themselves
+ * changed between two frames, so the {@link AnimationScheduler} can repaint
+ * that region instead of the whole component.
+ * 
+ * @author JohnLesterDev
+ */
+public interface DamageTracker {
+    /**
+     * Writes the region that changed since the previous call into the given
+     * rectangle, in component coordinates. An empty rectangle means nothing
+     * needs to be repainted.
+     * 
+     * @param damage The rectangle to write the damaged region into.
+     * @return true if the region is known, false to repaint the whole component
+     */
+    boolean collectDamage(Rectangle damage);
+}
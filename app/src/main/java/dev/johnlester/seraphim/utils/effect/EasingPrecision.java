@@ -0,0 +1,34 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+/**
+ * Enumerates how an easing curve is evaluated
+ * 
+ * <ul>
+ * <li>TABLE_LINEAR: Lookup table with linear interpolation between samples</li>
+ * <li>TABLE_HERMITE: Lookup table with cubic Hermite interpolation between samples</li>
+ * <li>ANALYTIC: Solves the curve on every call, for when high precision is needed</li>
+ * </ul>
+ */
+public enum EasingPrecision {
+    TABLE_LINEAR, TABLE_HERMITE, ANALYTIC
+}
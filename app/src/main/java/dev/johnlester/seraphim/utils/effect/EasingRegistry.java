@@ -0,0 +1,94 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+
+/**
+ * Interns easing curves so that identical curves share one precomputed
+ * lookup table, no matter how often they are requested.
+ * 
+ * This class cannot be instantiated.
+ * 
+ * @author JohnLesterDev
+ */
+public final class EasingRegistry {
+    /**
+     * The precision used when none is requested.
+     */
+    public static final EasingPrecision DEFAULT_PRECISION = EasingPrecision.TABLE_HERMITE;
+
+    private static final Map<CurveKey, EasingFunction> curves = new ConcurrentHashMap<>();
+
+    private record CurveKey(float x1, float y1, float x2, float y2, EasingPrecision precision) {}
+
+    private EasingRegistry() {
+        throw new AssertionError("EasingRegistry is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns the cubic Bezier easing for the given control points, using a
+     * Hermite interpolated lookup table.
+     * 
+     * @param x1 The x coordinate of the first control point, between 0 and 1.
+     * @param y1 The y coordinate of the first control point.
+     * @param x2 The x coordinate of the second control point, between 0 and 1.
+     * @param y2 The y coordinate of the second control point.
+     * @return the shared easing function for this curve
+     */
+    public static EasingFunction cubicBezier(float x1, float y1, float x2, float y2) {
+        return cubicBezier(x1, y1, x2, y2, DEFAULT_PRECISION);
+    }
+
+    /**
+     * Returns the cubic Bezier easing for the given control points.
+     * 
+     * @param x1 The x coordinate of the first control point, between 0 and 1.
+     * @param y1 The y coordinate of the first control point.
+     * @param x2 The x coordinate of the second control point, between 0 and 1.
+     * @param y2 The y coordinate of the second control point.
+     * @param precision How the curve is evaluated.
+     * @return the shared easing function for this curve
+     * @throws IllegalArgumentException if x1 or x2 is outside of [0, 1]
+     */
+    public static EasingFunction cubicBezier(float x1, float y1, float x2, float y2, EasingPrecision precision) {
+        if (x1 < 0f || x1 > 1f || x2 < 0f || x2 > 1f) {
+            throw new IllegalArgumentException("Control point x coordinates must be between 0 and 1.");
+        }
+
+        return curves.computeIfAbsent(
+            new CurveKey(x1, y1, x2, y2, precision),
+            key -> new CubicBezierEasing(key.x1(), key.y1(), key.x2(), key.y2(), key.precision())
+        );
+    }
+
+    /**
+     * Returns the number of interned curves.
+     * 
+     * @return the number of curves
+     */
+    public static int size() {
+        return curves.size();
+    }
+}
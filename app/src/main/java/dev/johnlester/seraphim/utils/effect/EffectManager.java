@@ -24,31 +24,42 @@ import java.awt.Dimension;
 import java.awt.Image;
 import java.awt.Point;
 import java.util.function.Consumer;
-import java.awt.event.ActionListener;
 
-import javax.swing.Timer;
 import javax.swing.border.Border;
 import javax.swing.border.LineBorder;
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
 
-public class EffectManager<T> {
-    private final JComponent component;
-    private final int duration;
-    private final int fps;
+/**
+ * Effect that animates any value through a {@link TransitionInterpolator}.
+ * 
+ * The interpolators in this class create a new value on every frame. For
+ * floats, ints and colors prefer {@link FloatEffect}, {@link IntEffect} and
+ * {@link ColorEffect}, for points and dimensions {@link InPlaceEffect}, and
+ * for line borders an {@link AnimatedLineBorder} driven by those effects,
+ * which allocate nothing while running.
+ * 
+ * @author JohnLesterDev
+ */
+public class EffectManager<T> extends BaseEffect {
+    /**
+     * The channel used by effects that do not name the property they animate.
+     */
+    public static final String DEFAULT_CHANNEL = "transition";
+
     private final T fromValue;
     private final T toValue;
     private final TransitionInterpolator<T> interpolator;
     private final Consumer<T> updater;
-    private final EasingFunction easing;
     
     public interface TransitionInterpolator<T> {
         T interpolate(T from, T to, float progress);
     }
     
-    // Constructor with easing
+    // Constructor with easing and channel
     public EffectManager(
             JComponent component, 
+            String channel,
             T fromValue, 
             T toValue, 
             int durationMillis,
@@ -57,56 +68,46 @@ public class EffectManager<T> {
             EasingFunction easing,
             int fps
             ) {
-        this.component = component;
-        this.fps = 60;
+        super(component, channel, durationMillis, easing, fps);
         this.fromValue = fromValue;
         this.toValue = toValue;
-        this.duration = durationMillis;
         this.interpolator = interpolator;
         this.updater = updater;
-        this.easing = easing;
+    }
+    
+    // Constructor with easing on the default channel
+    public EffectManager(
+            JComponent component, 
+            T fromValue, 
+            T toValue, 
+            int durationMillis,
+            TransitionInterpolator<T> interpolator, 
+            Consumer<T> updater,
+            EasingFunction easing,
+            int fps
+            ) {
+        this(component, DEFAULT_CHANNEL, fromValue, toValue, durationMillis, interpolator, updater, easing, fps);
     }
     
     // Constructor with default linear easing
     public EffectManager(JComponent component, T fromValue, T toValue, int durationMillis,
                      TransitionInterpolator<T> interpolator, Consumer<T> updater) {
-        this(component, fromValue, toValue, durationMillis, interpolator, updater, LINEAR, 60);
+        this(component, fromValue, toValue, durationMillis, interpolator, updater, LINEAR, 0);
     }
     
-    public void play() {
-        if (component == null) return;
-        
-        Timer existingTimer = (Timer) component.getClientProperty("transitionTimer");
-        if (existingTimer != null && existingTimer.isRunning()) {
-            existingTimer.stop();
-        }
-        
-        int frameRate = Math.max(1, 1000 / Math.max(1, fps)); 
-        int frames = Math.max(1, duration / frameRate);
-        final float[] rawProgress = {0.0f};
-        
-        Timer timer = new Timer(frameRate, null);
-        ActionListener listener = e -> {
-            rawProgress[0] += 1.0f / frames;
-            boolean finished = rawProgress[0] >= 1.0f;
-            
-            if (finished) {
-                rawProgress[0] = 1.0f;
-                timer.stop();
-                component.putClientProperty("transitionTimer", null);
-            }
-            
-            // Apply easing function to the raw progress
-            float easedProgress = easing.ease(rawProgress[0]);
-            
-            T currentValue = interpolator.interpolate(fromValue, toValue, easedProgress);
-            updater.accept(currentValue);
-            component.repaint();
-        };
-        
-        timer.addActionListener(listener);
-        component.putClientProperty("transitionTimer", timer);
-        timer.start();
+    @Override
+    protected void apply(float progress) {
+        updater.accept(interpolator.interpolate(fromValue, toValue, progress));
+    }
+
+    /**
+     * Cancels the effect running on the given component and channel, if any.
+     * 
+     * @param component The animated component.
+     * @param channel The channel the effect was started on.
+     */
+    public static void stop(JComponent component, String channel) {
+        AnimationScheduler.cancel(component, channel);
     }
 
     /**
@@ -144,23 +145,40 @@ public class EffectManager<T> {
     (from, to, progress) -> from + (to - from) * progress;
 
     public static void setRotation(JComponent component, float angleDegrees) {
-        component.putClientProperty("rotationAngle", angleDegrees);
+        rotationHolder(component)[0] = angleDegrees;
         component.repaint();
     }
     
     public static float getRotation(JComponent component) {
         Object value = component.getClientProperty("rotationAngle");
-        return value instanceof Float ? (Float) value : 0f;
+        return value instanceof float[] ? ((float[]) value)[0] : 0f;
+    }
+
+    /**
+     * Returns the mutable holder of the rotation of a component, so that the
+     * rotation can be animated without boxing a Float on every frame.
+     */
+    private static float[] rotationHolder(JComponent component) {
+        Object value = component.getClientProperty("rotationAngle");
+        if (value instanceof float[]) {
+            return (float[]) value;
+        }
+
+        float[] holder = new float[1];
+        component.putClientProperty("rotationAngle", holder);
+        return holder;
     }
 
     public static void rotateComponent(JComponent comp, float fromDeg, float toDeg, int duration, EasingFunction easing) {
-        new EffectManager<>(
+        float[] holder = rotationHolder(comp);
+
+        new FloatEffect(
             comp,
+            "rotation",
             fromDeg,
             toDeg,
             duration,
-            ROTATION_INTERPOLATOR,
-            angle -> setRotation(comp, angle),
+            angle -> holder[0] = angle,
             easing,
             60
         ).play();
@@ -249,30 +267,20 @@ public class EffectManager<T> {
     
 
     /**
-     * Cubic Bezier easing function. Calculates the point along the curve given by the control points (x1, y1) and (x2, y2) at the given progress.
+     * Cubic Bezier easing function. Returns the shared, precomputed curve for the control points (x1, y1) and (x2, y2).
+     * 
+     * @see EasingRegistry#cubicBezier(float, float, float, float)
      */
     public static EasingFunction cubicBezier(float x1, float y1, float x2, float y2) {
-        return progress -> {
-            float t = progress;
-            for (int i = 0; i < 4; i++) {
-                float x = 3 * t * (1 - t) * (1 - t) * x1 + 
-                            3 * t * t * (1 - t) * x2 + 
-                            t * t * t;
-                if (Math.abs(x - progress) < 0.001f)
-                    break;
-                
-                float dx = 3 * (1 - t) * (1 - t) * x1 + 
-                            6 * t * (1 - t) * (x2 - x1) + 
-                            3 * t * t * (1 - x2);
-                if (dx == 0)
-                    break;
-                    
-                t = t - (x - progress) / dx;
-            }
-            
-            return 3 * t * (1 - t) * (1 - t) * y1 + 
-                    3 * t * t * (1 - t) * y2 + 
-                    t * t * t;
-        };
+        return EasingRegistry.cubicBezier(x1, y1, x2, y2);
+    }
+
+    /**
+     * Cubic Bezier easing function with the given precision.
+     * 
+     * @see EasingRegistry#cubicBezier(float, float, float, float, EasingPrecision)
+     */
+    public static EasingFunction cubicBezier(float x1, float y1, float x2, float y2, EasingPrecision precision) {
+        return EasingRegistry.cubicBezier(x1, y1, x2, y2, precision);
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+
+/**
+ * Effect that animates a primitive float without boxing it.
+ * 
+ * @author JohnLesterDev
+ */
+public class FloatEffect extends BaseEffect {
+    private final float fromValue;
+    private final float toValue;
+    private final FloatUpdater updater;
+
+    public interface FloatUpdater {
+        void update(float value);
+    }
+
+    public FloatEffect(
+            JComponent component,
+            String channel,
+            float fromValue,
+            float toValue,
+            int durationMillis,
+            FloatUpdater updater,
+            EasingFunction easing,
+            int fps
+            ) {
+        super(component, channel, durationMillis, easing, fps);
+        this.fromValue = fromValue;
+        this.toValue = toValue;
+        this.updater = updater;
+    }
+
+    @Override
+    protected void apply(float progress) {
+        updater.update(fromValue + (toValue - fromValue) * progress);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+/**
+ * Frame-time and dropped-frame statistics of a single animation.
+ * 
+ * @author JohnLesterDev
+ */
+public class FrameStats {
+    private int frameCount;
+    private int droppedFrames;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+
+    /**
+     * Records a rendered frame.
+     * 
+     * @param frameNanos The time since the previous frame in nanoseconds.
+     * @param dropped The number of frames skipped since the previous frame.
+     */
+    public void record(long frameNanos, int dropped) {
+        frameCount++;
+        droppedFrames += dropped;
+        totalFrameNanos += frameNanos;
+        if (frameNanos > maxFrameNanos) {
+            maxFrameNanos = frameNanos;
+        }
+    }
+
+    public void reset() {
+        frameCount = 0;
+        droppedFrames = 0;
+        totalFrameNanos = 0;
+        maxFrameNanos = 0;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public double getAverageFrameMillis() {
+        return frameCount == 0 ? 0 : totalFrameNanos / (frameCount * 1_000_000.0);
+    }
+
+    public double getMaxFrameMillis() {
+        return maxFrameNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "frames=%d dropped=%d avg=%.2fms max=%.2fms",
+            frameCount,
+            droppedFrames,
+            getAverageFrameMillis(),
+            getMaxFrameMillis()
+        );
+    }
+}
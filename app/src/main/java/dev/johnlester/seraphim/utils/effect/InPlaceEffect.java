@@ -0,0 +1,107 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+
+/**
+ * Effect that writes every frame into one mutable target instead of
+ * creating a new value, e.g. a {@link Point} or a {@link Dimension}.
+ * 
+ * @author JohnLesterDev
+ */
+public class InPlaceEffect<T> extends BaseEffect {
+    private final T fromValue;
+    private final T toValue;
+    private final T target;
+    private final InPlaceInterpolator<T> interpolator;
+    private final Consumer<T> updater;
+
+    public interface InPlaceInterpolator<T> {
+        void interpolate(T from, T to, float progress, T target);
+    }
+
+    /**
+     * Constructs a new in-place effect.
+     * 
+     * @param component The component that is repainted while the effect runs.
+     * @param channel The name of the animated property.
+     * @param fromValue The start value, which is not modified.
+     * @param toValue The end value, which is not modified.
+     * @param target The value written on every frame.
+     * @param durationMillis The duration of the effect in milliseconds.
+     * @param interpolator The interpolator writing into the target.
+     * @param updater Receives the target after every frame.
+     * @param easing The easing applied to the progress.
+     * @param fps The frame rate, or 0 to follow the display refresh rate.
+     */
+    public InPlaceEffect(
+            JComponent component,
+            String channel,
+            T fromValue,
+            T toValue,
+            T target,
+            int durationMillis,
+            InPlaceInterpolator<T> interpolator,
+            Consumer<T> updater,
+            EasingFunction easing,
+            int fps
+            ) {
+        super(component, channel, durationMillis, easing, fps);
+        this.fromValue = fromValue;
+        this.toValue = toValue;
+        this.target = target;
+        this.interpolator = interpolator;
+        this.updater = updater;
+    }
+
+    @Override
+    protected void apply(float progress) {
+        interpolator.interpolate(fromValue, toValue, progress, target);
+        updater.accept(target);
+    }
+
+    public T getTarget() {
+        return target;
+    }
+
+    /**
+     * Interpolates between two Points into a target Point.
+     */
+    public static final InPlaceInterpolator<Point> POINT = (from, to, progress, target) -> {
+        target.x = (int) (from.x + (to.x - from.x) * progress);
+        target.y = (int) (from.y + (to.y - from.y) * progress);
+    };
+
+    /**
+     * Interpolates between two Dimensions into a target Dimension.
+     */
+    public static final InPlaceInterpolator<Dimension> DIMENSION = (from, to, progress, target) -> {
+        target.width = (int) (from.width + (to.width - from.width) * progress);
+        target.height = (int) (from.height + (to.height - from.height) * progress);
+    };
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+
+package dev.johnlester.seraphim.utils.effect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JComponent;
+
+import dev.johnlester.seraphim.utils.effect.EffectManager.EasingFunction;
+import dev.johnlester.seraphim.utils.effect.FloatEffect.FloatUpdater;
+
+/**
+ * Animates several properties of one component from a single set of
+ * keyframed tracks. Every track is evaluated in the same pulse, so a
+ * composite effect such as a crossfade with a rotation costs one update pass
+ * and one repaint instead of one per property.
+ * 
+ * The timeline keeps its current position, so {@link #play()} and
+ * {@link #reverse()} can interrupt each other and continue from the values
+ * currently shown instead of jumping back to the start.
+ * 
+ * <pre>
+ * Timeline hover = new Timeline(label, "hover")
+ *     .add(new Timeline.Track(label::setCrossfade).keyframe(0f, 0f).keyframe(1f, 1f).duration(850))
+ *     .add(new Timeline.Track(label::setRotation).keyframe(0f, 0f).keyframe(1f, 90f).duration(850).easing(easing));
+ * </pre>
+ * 
+ * @author JohnLesterDev
+ */
+public class Timeline extends BaseEffect {
+    private final List<Track> tracks = new ArrayList<>();
+    private long totalNanos;
+    private long positionNanos;
+    private long startPositionNanos;
+    private long spanNanos;
+    private boolean reversed;
+
+    /**
+     * A single animated property of a timeline. Keyframe times are fractions
+     * of the track duration and must be added in increasing order.
+     */
+    public static class Track {
+        private final FloatUpdater updater;
+        private float[] times = new float[2];
+        private float[] values = new float[2];
+        private EasingFunction[] easings = new EasingFunction[2];
+        private int keyframeCount;
+        private EasingFunction easing = EffectManager.LINEAR;
+        private long delayNanos;
+        private long durationNanos;
+
+        public Track(FloatUpdater updater) {
+            this.updater = updater;
+        }
+
+        /**
+         * Adds a keyframe reached with the easing of the track.
+         * 
+         * @param time The time of the keyframe as a fraction of the track duration.
+         * @param value The value at the keyframe.
+         * @return this track
+         */
+        public Track keyframe(float time, float value) {
+            return keyframe(time, value, null);
+        }
+
+        /**
+         * Adds a keyframe reached with its own easing.
+         * 
+         * @param time The time of the keyframe as a fraction of the track duration.
+         * @param value The value at the keyframe.
+         * @param easing The easing of the segment ending at this keyframe.
+         * @return this track
+         * @throws IllegalArgumentException if the time is out of order or outside of [0, 1]
+         */
+        public Track keyframe(float time, float value, EasingFunction easing) {
+            if (time < 0f || time > 1f) {
+                throw new IllegalArgumentException("Keyframe time must be between 0 and 1.");
+            }
+            if (keyframeCount > 0 && time <= times[keyframeCount - 1]) {
+                throw new IllegalArgumentException("Keyframes must be added in increasing time order.");
+            }
+
+            if (keyframeCount == times.length) {
+                times = Arrays.copyOf(times, keyframeCount * 2);
+                values = Arrays.copyOf(values, keyframeCount * 2);
+                easings = Arrays.copyOf(easings, keyframeCount * 2);
+            }
+
+            times[keyframeCount] = time;
+            values[keyframeCount] = value;
+            easings[keyframeCount] = easing;
+            keyframeCount++;
+            return this;
+        }
+
+        public Track easing(EasingFunction easing) {
+            this.easing = easing;
+            return this;
+        }
+
+        public Track delay(int delayMillis) {
+            this.delayNanos = Math.max(0, delayMillis) * 1_000_000L;
+            return this;
+        }
+
+        public Track duration(int durationMillis) {
+            this.durationNanos = Math.max(0, durationMillis) * 1_000_000L;
+            return this;
+        }
+
+        private long getEndNanos() {
+            return delayNanos + durationNanos;
+        }
+
+        private void apply(long positionNanos) {
+            if (keyframeCount == 0) {
+                return;
+            }
+
+            float local;
+            if (durationNanos == 0) {
+                local = positionNanos >= delayNanos ? 1f : 0f;
+            } else {
+                local = (float) (positionNanos - delayNanos) / durationNanos;
+                local = Math.max(0f, Math.min(1f, local));
+            }
+
+            updater.update(sample(local));
+        }
+
+        private float sample(float local) {
+            if (local <= times[0]) {
+                return values[0];
+            }
+
+            for (int i = 1; i < keyframeCount; i++) {
+                if (local <= times[i]) {
+                    float t = (local - times[i - 1]) / (times[i] - times[i - 1]);
+                    EasingFunction segmentEasing = easings[i] != null ? easings[i] : easing;
+                    float eased = segmentEasing.ease(t);
+                    return values[i - 1] + (values[i] - values[i - 1]) * eased;
+                }
+            }
+
+            return values[keyframeCount - 1];
+        }
+    }
+
+    // Constructor following the display refresh rate
+    public Timeline(JComponent component, String channel) {
+        this(component, channel, 0);
+    }
+
+    public Timeline(JComponent component, String channel, int fps) {
+        super(component, channel, 0, EffectManager.LINEAR, fps);
+    }
+
+    /**
+     * Adds a track to the timeline.
+     * 
+     * @param track The track to add.
+     * @return this timeline
+     */
+    public Timeline add(Track track) {
+        tracks.add(track);
+        totalNanos = Math.max(totalNanos, track.getEndNanos());
+        return this;
+    }
+
+    /**
+     * Plays the timeline forward from its current position to the end.
+     */
+    @Override
+    public void play() {
+        run(false);
+    }
+
+    /**
+     * Plays the timeline backward from its current position to the start.
+     */
+    public void reverse() {
+        run(true);
+    }
+
+    /**
+     * Stops the timeline at its current position.
+     */
+    public void stop() {
+        if (AnimationScheduler.isScheduled(component, channel, this)) {
+            AnimationScheduler.cancel(component, channel);
+        }
+    }
+
+    /**
+     * Moves the timeline to the given fraction of its duration and applies
+     * every track right away.
+     * 
+     * @param progress The position as a fraction between 0 and 1.
+     */
+    public void seek(float progress) {
+        stop();
+        positionNanos = (long) (Math.max(0f, Math.min(1f, progress)) * totalNanos);
+        applyTracks();
+    }
+
+    private void run(boolean reverse) {
+        reversed = reverse;
+        startPositionNanos = positionNanos;
+        spanNanos = reverse ? positionNanos : totalNanos - positionNanos;
+        playFor(spanNanos);
+    }
+
+    @Override
+    protected void apply(float progress) {
+        long offset = (long) (progress * spanNanos);
+        positionNanos = reversed ? startPositionNanos - offset : startPositionNanos + offset;
+        applyTracks();
+    }
+
+    private void applyTracks() {
+        for (int i = 0; i < tracks.size(); i++) {
+            tracks.get(i).apply(positionNanos);
+        }
+    }
+
+    /**
+     * Returns the current position as a fraction of the timeline duration.
+     * 
+     * @return the progress between 0 and 1
+     */
+    public float getProgress() {
+        return totalNanos == 0 ? 0f : (float) positionNanos / totalNanos;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    public int getTotalDuration() {
+        return (int) (totalNanos / 1_000_000L);
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * An in-memory index for fuzzy matching short names, the way "go to file"
+ * matches in an IDE: the characters of the query must appear in order, and
+ * matches at word starts and in runs score higher.
+ * 
+ * Every item has an id, a title and a secondary text (e.g. a host). The text
+ * of all items lives in one char array addressed by int offsets, and every
+ * item has a 64-bit mask of the characters it contains, so most items are
+ * rejected with one AND before their text is read. Large indexes are scored
+ * in parallel chunks on the common fork/join pool.
+ * 
+ * Items are added, replaced and removed in place; replaced and removed text
+ * is reclaimed once it outweighs the live text. Reads and writes may come
+ * from any thread.
+ * 
+ * @author JohnLesterDev
+ */
+public final class FuzzyIndex {
+    /**
+     * Items scored by one fork/join task. Smaller indexes are scored on the
+     * calling thread.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Positions of the first query character tried as the start of a match.
+     */
+    private static final int MAX_STARTS = 8;
+
+    private static final int NO_MATCH = Integer.MIN_VALUE;
+    private static final int SCORE_CHAR = 1;
+    private static final int SCORE_CONSECUTIVE = 5;
+    private static final int SCORE_WORD_START = 8;
+    private static final int SCORE_TEXT_START = 6;
+    private static final int MAX_GAP_PENALTY = 5;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[64];
+    private long[] masks = new long[64];
+    private int[] titleStarts = new int[64];
+    private int[] secondaryStarts = new int[64];
+    private int[] ends = new int[64];
+    private final BitSet live = new BitSet();
+    private int slots;
+    private int liveCount;
+
+    private char[] chars = new char[1024];
+    private int charCount;
+    private int deadChars;
+
+    private final LongIntMap slotsById = new LongIntMap();
+
+    /**
+     * A scored item.
+     *
+     * @param id the id of the item
+     * @param score higher is better
+     * @param title the title of the item
+     * @param secondary the secondary text of the item, may be empty
+     */
+    public record Match(long id, int score, String title, String secondary) {
+    }
+
+
+    /**
+     * Adds an item, or replaces the item with the same id.
+     *
+     * @param id the id of the item
+     * @param title the title
+     * @param secondary the secondary text, may be null
+     */
+    public void put(long id, String title, String secondary) {
+        String second = secondary == null ? "" : secondary;
+        lock.writeLock().lock();
+        try {
+            removeSlot(slotsById.get(id));
+            compactIfSparse();
+
+            int slot = slots++;
+            ensureSlots(slots);
+            ensureChars(charCount + title.length() + second.length());
+
+            ids[slot] = id;
+            titleStarts[slot] = charCount;
+            title.getChars(0, title.length(), chars, charCount);
+            charCount += title.length();
+            secondaryStarts[slot] = charCount;
+            second.getChars(0, second.length(), chars, charCount);
+            charCount += second.length();
+            ends[slot] = charCount;
+            masks[slot] = mask(chars, titleStarts[slot], charCount);
+
+            live.set(slot);
+            liveCount++;
+            slotsById.put(id, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item if it is indexed.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(slotsById.get(id));
+            slotsById.remove(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            live.clear();
+            slots = 0;
+            liveCount = 0;
+            charCount = 0;
+            deadChars = 0;
+            slotsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Returns the best matches of a query. Whitespace in the query is
+     * ignored and case never matters. A match in the title counts more than
+     * one in the secondary text; ties go to the shorter title.
+     *
+     * @param query the query as typed
+     * @param limit the maximum number of matches
+     * @return the matches, best first
+     */
+    public List<Match> search(String query, int limit) {
+        char[] pattern = normalize(query);
+        if (pattern.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        long patternMask = mask(pattern, 0, pattern.length);
+
+        lock.readLock().lock();
+        try {
+            ScoreTask task = new ScoreTask(pattern, patternMask, limit, 0, slots);
+            TopMatches top = slots > CHUNK_SIZE * 2 ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+
+            List<Match> matches = new ArrayList<>(top.size);
+            for (int i : top.sortedIndexes()) {
+                int slot = top.slots[i];
+                matches.add(new Match(
+                    ids[slot],
+                    top.scores[i],
+                    new String(chars, titleStarts[slot], secondaryStarts[slot] - titleStarts[slot]),
+                    new String(chars, secondaryStarts[slot], ends[slot] - secondaryStarts[slot])
+                    ));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private void removeSlot(int slot) {
+        if (slot < 0 || !live.get(slot)) {
+            return;
+        }
+        live.clear(slot);
+        liveCount--;
+        deadChars += ends[slot] - titleStarts[slot];
+    }
+
+    /**
+     * Moves the live items to the front, dropping the text of removed ones,
+     * once that text is more than half of the buffer.
+     */
+    private void compactIfSparse() {
+        if (deadChars <= charCount / 2 || charCount < 4096) {
+            return;
+        }
+
+        char[] packed = new char[Math.max(1024, charCount - deadChars)];
+        int packedChars = 0;
+        int packedSlots = 0;
+
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            int length = ends[slot] - titleStarts[slot];
+            System.arraycopy(chars, titleStarts[slot], packed, packedChars, length);
+
+            int titleLength = secondaryStarts[slot] - titleStarts[slot];
+            ids[packedSlots] = ids[slot];
+            masks[packedSlots] = masks[slot];
+            titleStarts[packedSlots] = packedChars;
+            secondaryStarts[packedSlots] = packedChars + titleLength;
+            ends[packedSlots] = packedChars + length;
+            slotsById.put(ids[packedSlots], packedSlots);
+
+            packedChars += length;
+            packedSlots++;
+        }
+
+        chars = packed;
+        charCount = packedChars;
+        deadChars = 0;
+        slots = packedSlots;
+        live.clear();
+        live.set(0, packedSlots);
+    }
+
+    private void ensureSlots(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        masks = Arrays.copyOf(masks, capacity);
+        titleStarts = Arrays.copyOf(titleStarts, capacity);
+        secondaryStarts = Arrays.copyOf(secondaryStarts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+    }
+
+    private void ensureChars(int needed) {
+        if (needed > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(needed, chars.length * 2));
+        }
+    }
+
+
+    private static char[] normalize(String query) {
+        char[] pattern = new char[query.length()];
+        int length = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                pattern[length++] = lower(c);
+            }
+        }
+        return Arrays.copyOf(pattern, length);
+    }
+
+    private static char lower(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Sets one bit per letter and digit, and hashes every other character
+     * into the remaining bits.
+     */
+    private static long mask(char[] text, int from, int to) {
+        long mask = 0;
+        for (int i = from; i < to; i++) {
+            mask |= 1L << bit(lower(text[i]));
+        }
+        return mask;
+    }
+
+    private static int bit(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return 36 + c % 28;
+    }
+
+    private static boolean isWordStart(char[] text, int from, int position) {
+        if (position == from) {
+            return true;
+        }
+        char previous = text[position - 1];
+        char current = text[position];
+        return !Character.isLetterOrDigit(previous)
+            || (Character.isLowerCase(previous) && Character.isUpperCase(current));
+    }
+
+    /**
+     * Scores the best of a few alignments of the pattern in a text: one per
+     * occurrence of its first character.
+     */
+    private static int score(char[] text, int from, int to, char[] pattern) {
+        int best = NO_MATCH;
+        int starts = 0;
+        for (int start = from; to - start >= pattern.length && starts < MAX_STARTS; start++) {
+            if (lower(text[start]) != pattern[0]) {
+                continue;
+            }
+            starts++;
+            best = Math.max(best, scoreFrom(text, from, to, pattern, start));
+        }
+        return best;
+    }
+
+    private static int scoreFrom(char[] text, int from, int to, char[] pattern, int start) {
+        int score = 0;
+        int position = start;
+        int previous = -2;
+
+        for (int p = 0; p < pattern.length; p++) {
+            int found = position;
+            while (found < to && lower(text[found]) != pattern[p]) {
+                found++;
+            }
+            if (found == to) {
+                return NO_MATCH;
+            }
+
+            score += SCORE_CHAR;
+            if (found == previous + 1) {
+                score += SCORE_CONSECUTIVE;
+            } else if (p > 0) {
+                score -= Math.min(found - position, MAX_GAP_PENALTY);
+            }
+            if (isWordStart(text, from, found)) {
+                score += SCORE_WORD_START;
+            }
+            if (found == from) {
+                score += SCORE_TEXT_START;
+            }
+
+            previous = found;
+            position = found + 1;
+        }
+        return score;
+    }
+
+
+    /**
+     * Scores a range of slots, splitting it across the pool when large.
+     */
+    private final class ScoreTask extends RecursiveTask<TopMatches> {
+        private final char[] pattern;
+        private final long patternMask;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        ScoreTask(char[] pattern, long patternMask, int limit, int from, int to) {
+            this.pattern = pattern;
+            this.patternMask = patternMask;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopMatches compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                ScoreTask left = new ScoreTask(pattern, patternMask, limit, from, middle);
+                ScoreTask right = new ScoreTask(pattern, patternMask, limit, middle, to);
+                left.fork();
+                TopMatches top = right.compute();
+                return top.merge(left.join());
+            }
+
+            TopMatches top = new TopMatches(limit);
+            for (int slot = from; slot < to; slot++) {
+                if ((masks[slot] & patternMask) != patternMask || !live.get(slot)) {
+                    continue;
+                }
+
+                int title = score(chars, titleStarts[slot], secondaryStarts[slot], pattern);
+                int secondary = score(chars, secondaryStarts[slot], ends[slot], pattern);
+                int best = Math.max(title, secondary == NO_MATCH ? NO_MATCH : secondary * 4 / 5);
+                if (best == NO_MATCH) {
+                    continue;
+                }
+                // Ties go to the shorter title.
+                int length = secondaryStarts[slot] - titleStarts[slot];
+                top.offer(best * 256 - Math.min(length, 255), slot);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * The best slots seen so far, as a min-heap on the score.
+     */
+    private static final class TopMatches {
+        final int[] scores;
+        final int[] slots;
+        int size;
+
+        TopMatches(int limit) {
+            scores = new int[limit];
+            slots = new int[limit];
+        }
+
+        void offer(int score, int slot) {
+            if (size < scores.length) {
+                scores[size] = score;
+                slots[size] = slot;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                slots[0] = slot;
+                siftDown(0);
+            }
+        }
+
+        TopMatches merge(TopMatches other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.scores[i], other.slots[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Returns the heap indexes ordered by descending score.
+         */
+        int[] sortedIndexes() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = order[i];
+            }
+            return indexes;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = index * 2 + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int slot = slots[a];
+            slots[a] = slots[b];
+            slots[b] = slot;
+        }
+    }
+
+    /**
+     * Open-addressing map from item ids to slots, without boxing.
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(64);
+        private int[] values = new int[64];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        /**
+         * Removes a key, moving back the keys of its probe run so lookups
+         * never stop early at the freed slot.
+         */
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = EMPTY;
+            size--;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                long moved = keys[j];
+                int value = values[j];
+                keys[j] = EMPTY;
+                size--;
+                put(moved, value);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
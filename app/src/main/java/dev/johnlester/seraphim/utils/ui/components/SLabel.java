@@ -17,52 +17,170 @@
  * Copyright (C) 2025 JohnLesterDev
  */
 
+
 package dev.johnlester.seraphim.utils.ui.components;
 
 import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Composite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
+import java.awt.Insets;
+import java.awt.Rectangle;
 
-import javax.swing.ImageIcon;
+import javax.swing.Icon;
 import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
 
+import dev.johnlester.seraphim.utils.effect.DamageTracker;
 import dev.johnlester.seraphim.utils.effect.EffectManager;
+import dev.johnlester.seraphim.utils.effect.FloatEffect;
+import dev.johnlester.seraphim.utils.effect.Timeline;
+
+public class SLabel extends JLabel implements DamageTracker {
+    /**
+     * Shared composites for every 8-bit alpha level, so painting never
+     * allocates a new AlphaComposite.
+     */
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[256];
+
+    static {
+        for (int i = 0; i < COMPOSITES.length; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+        }
+    }
 
-public class SLabel extends JLabel {
     private Image outlineIcon;
     private Image solidIcon;
     private float currentAlpha = 1.0f;
     private float currentRotation = 0f;
+    private float crossfade = 0f;
     private boolean isSolid = false;
+    private Timeline hoverTimeline;
+
+    // Reused by collectDamage() so that tracking damage allocates nothing.
+    private final Rectangle lastDamageBounds = new Rectangle();
+    private boolean hasLastDamageBounds = false;
+    private final Rectangle viewBounds = new Rectangle();
+    private final Rectangle iconBounds = new Rectangle();
+    private final Rectangle textBounds = new Rectangle();
+    private Insets insets = new Insets(0, 0, 0, 0);
 
     public SLabel(Image outlineIcon, Image solidIcon) {
         this.outlineIcon = outlineIcon;
         this.solidIcon = solidIcon;
-        setIcon(new ImageIcon(outlineIcon));
+        setIcon(new CrossfadeIcon());
         setOpaque(false);
     }
 
+    /**
+     * Icon that draws both images straight onto the label graphics, each with
+     * its share of the crossfade as alpha, instead of blending them into a new
+     * image on every frame.
+     */
+    private class CrossfadeIcon implements Icon {
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            Graphics2D g2 = (Graphics2D) g;
+            Composite previous = g2.getComposite();
+
+            if (crossfade < 1f) {
+                g2.setComposite(composite(currentAlpha * (1f - crossfade)));
+                g2.drawImage(outlineIcon, x, y, null);
+            }
+
+            if (crossfade > 0f) {
+                g2.setComposite(composite(currentAlpha * crossfade));
+                g2.drawImage(solidIcon, x, y, null);
+            }
+
+            g2.setComposite(previous);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return Math.max(outlineIcon.getWidth(null), solidIcon.getWidth(null));
+        }
+
+        @Override
+        public int getIconHeight() {
+            return Math.max(outlineIcon.getHeight(null), solidIcon.getHeight(null));
+        }
+    }
+
+    private static AlphaComposite composite(float alpha) {
+        int index = Math.round(alpha * 255f);
+        return COMPOSITES[Math.max(0, Math.min(255, index))];
+    }
+
+    /**
+     * Sets up the hover animation, which crossfades from the outline icon to
+     * the solid icon while rotating the label, all driven by one timeline.
+     * 
+     * @param durationMs The duration of the animation in milliseconds.
+     * @param rotationDeg The rotation reached when hovered, in degrees.
+     * @param easing The easing of both the crossfade and the rotation.
+     */
+    public void setHoverAnimation(int durationMs, float rotationDeg, EffectManager.EasingFunction easing) {
+        if (hoverTimeline != null) {
+            hoverTimeline.stop();
+        }
+
+        hoverTimeline = new Timeline(this, "hover", 60)
+            .add(new Timeline.Track(progress -> {
+                    crossfade = progress;
+                    isSolid = progress >= 1f;
+                })
+                .keyframe(0f, 0f)
+                .keyframe(1f, 1f)
+                .duration(durationMs)
+                .easing(easing))
+            .add(new Timeline.Track(rotation -> currentRotation = rotation)
+                .keyframe(0f, 0f)
+                .keyframe(1f, rotationDeg)
+                .duration(durationMs)
+                .easing(easing));
+    }
+
+    /**
+     * Plays the hover animation forward, continuing from where it currently is.
+     */
+    public void hoverIn() {
+        if (hoverTimeline != null) {
+            hoverTimeline.play();
+        }
+    }
+
+    /**
+     * Plays the hover animation backward, continuing from where it currently is.
+     */
+    public void hoverOut() {
+        if (hoverTimeline != null) {
+            hoverTimeline.reverse();
+        }
+    }
+
+    /**
+     * Moves the hover animation to the given progress without animating,
+     * e.g. to render a given frame of it.
+     * 
+     * @param progress The progress of the hover animation between 0 and 1.
+     */
+    public void seekHover(float progress) {
+        if (hoverTimeline != null) {
+            hoverTimeline.seek(progress);
+        }
+    }
+
     public void transitionIcons(int durationMs, EffectManager.EasingFunction easing) {
-        Image from = isSolid ? solidIcon : outlineIcon;
-        Image to = isSolid ? outlineIcon : solidIcon;
-    
-        new EffectManager<>(
+        new FloatEffect(
             this,
-            new EffectManager.ImageWithAlpha(from, to, 0f),
-            new EffectManager.ImageWithAlpha(from, to, 1f),
+            "icon",
+            crossfade,
+            isSolid ? 0f : 1f,
             durationMs,
-            EffectManager.IMAGE_INTERPOLATOR,
-            imageWithAlpha -> {
-                Image blended = blendImages(
-                    from,
-                    to,
-                    imageWithAlpha.progress
-                );
-                setIcon(new ImageIcon(blended));
-            },
+            progress -> crossfade = progress,
             easing,
             60
         ).play();
@@ -73,59 +191,120 @@ public class SLabel extends JLabel {
     public void transitionRotations(float toDeg, int durationMs, EffectManager.EasingFunction easing) {
         float startRotation = currentRotation;
     
-        new EffectManager<>(
+        new FloatEffect(
             this,
+            "rotation",
             startRotation,
             toDeg,
             durationMs,
-            EffectManager.FLOAT_INTERPOLATOR,
-            rotation -> {
-                currentRotation = rotation;
-                repaint();
-            },
+            rotation -> currentRotation = rotation,
             easing,
             60
         ).play();
     }
 
-    private Image blendImages(Image img1, Image img2, float progress) {
-        int width = Math.max(img1.getWidth(null), img2.getWidth(null));
-        int height = Math.max(img1.getHeight(null), img2.getHeight(null));
-        BufferedImage blended = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = blended.createGraphics();
+    public void setAlpha(float alpha) {
+        this.currentAlpha = alpha;
+        repaint();
+    }
+
+    /**
+     * Reports the union of the rotated icon bounds of the previous and the
+     * current frame, since rotating and crossfading only change the icon.
+     */
+    @Override
+    public boolean collectDamage(Rectangle damage) {
+        String text = getText();
+        if (text != null && !text.isEmpty()) {
+            hasLastDamageBounds = false;
+            return false;
+        }
 
-        // Draw first image with inverse alpha
-        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f - progress));
-        g2.drawImage(img1, 0, 0, null);
+        insets = getInsets(insets);
+        viewBounds.setBounds(
+            insets.left,
+            insets.top,
+            getWidth() - insets.left - insets.right,
+            getHeight() - insets.top - insets.bottom
+        );
+        iconBounds.setBounds(0, 0, 0, 0);
+        textBounds.setBounds(0, 0, 0, 0);
 
-        // Draw second image with forward alpha
-        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, progress));
-        g2.drawImage(img2, 0, 0, null);
+        SwingUtilities.layoutCompoundLabel(
+            this, getFontMetrics(getFont()), text, getIcon(),
+            getVerticalAlignment(), getHorizontalAlignment(),
+            getVerticalTextPosition(), getHorizontalTextPosition(),
+            viewBounds, iconBounds, textBounds, getIconTextGap()
+        );
 
-        g2.dispose();
-        return blended;
+        int previousX = lastDamageBounds.x;
+        int previousY = lastDamageBounds.y;
+        int previousRight = previousX + lastDamageBounds.width;
+        int previousBottom = previousY + lastDamageBounds.height;
+        boolean hadPrevious = hasLastDamageBounds;
+
+        rotatedBounds(iconBounds, lastDamageBounds);
+        hasLastDamageBounds = true;
+
+        if (!hadPrevious) {
+            return false;
+        }
+
+        // Nothing outside of the label can be repainted, so clip to it.
+        int x = Math.max(0, Math.min(previousX, lastDamageBounds.x));
+        int y = Math.max(0, Math.min(previousY, lastDamageBounds.y));
+        int right = Math.min(getWidth(), Math.max(previousRight, lastDamageBounds.x + lastDamageBounds.width));
+        int bottom = Math.min(getHeight(), Math.max(previousBottom, lastDamageBounds.y + lastDamageBounds.height));
+        damage.setBounds(x, y, Math.max(0, right - x), Math.max(0, bottom - y));
+        return true;
     }
 
-    public void setAlpha(float alpha) {
-        this.currentAlpha = alpha;
-        repaint();
+    /**
+     * Writes the bounding box of the given bounds rotated by the current
+     * rotation around the center of the label, padded for antialiasing.
+     */
+    private void rotatedBounds(Rectangle bounds, Rectangle result) {
+        double theta = Math.toRadians(currentRotation);
+        double cos = Math.cos(theta);
+        double sin = Math.sin(theta);
+        double cx = getWidth() / 2.0;
+        double cy = getHeight() / 2.0;
+
+        // Center of the bounds after rotating around the label center
+        double dx = bounds.getCenterX() - cx;
+        double dy = bounds.getCenterY() - cy;
+        double centerX = cx + dx * cos - dy * sin;
+        double centerY = cy + dx * sin + dy * cos;
+
+        double halfWidth = (bounds.width * Math.abs(cos) + bounds.height * Math.abs(sin)) / 2;
+        double halfHeight = (bounds.width * Math.abs(sin) + bounds.height * Math.abs(cos)) / 2;
+
+        int x = (int) Math.floor(centerX - halfWidth) - 1;
+        int y = (int) Math.floor(centerY - halfHeight) - 1;
+        int right = (int) Math.ceil(centerX + halfWidth) + 1;
+        int bottom = (int) Math.ceil(centerY + halfHeight) + 1;
+        result.setBounds(x, y, right - x, bottom - y);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
+        Graphics2D g2 = (Graphics2D) g;
+        Composite previous = g2.getComposite();
 
         // Apply rotation around the center of the component
         int cx = getWidth() / 2;
         int cy = getHeight() / 2;
-        g2.rotate(Math.toRadians(currentRotation), cx, cy);
+        double theta = Math.toRadians(currentRotation);
+        g2.rotate(theta, cx, cy);
 
         // Apply alpha transparency
-        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, currentAlpha));
+        g2.setComposite(composite(currentAlpha));
 
         // Paint the icon using the transformed graphics context
         super.paintComponent(g2);
 
-        g2.dispose();
+        // Undo in place rather than painting on a copy of the graphics
+        g2.rotate(-theta, cx, cy);
+        g2.setComposite(previous);
     }
 }
@@ -20,30 +20,70 @@
 
 package dev.johnlester.seraphim.views;
 
+import java.awt.Color;
 import java.awt.Image;
 import java.awt.LayoutManager2;
+import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Arrays;
 
-import javax.swing.ImageIcon;
+import javax.swing.JButton;
 import javax.swing.JFrame;
-
+import javax.swing.JLabel;
+import javax.swing.JPasswordField;
+import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import dev.johnlester.seraphim.App;
+import dev.johnlester.seraphim.controllers.ViewManager;
 import dev.johnlester.seraphim.utils.ResourceUtils;
+import dev.johnlester.seraphim.utils.SecretArena;
 import dev.johnlester.seraphim.utils.effect.EffectManager;
 import dev.johnlester.seraphim.utils.ui.builder.ComponentBuilder;
 import dev.johnlester.seraphim.utils.ui.components.SLabel;
 
 
-public class AuthenticationView extends BaseView {
+/**
+ * The login window: a username and master password form, driven by a
+ * {@link dev.johnlester.seraphim.controllers.PasswordManagerController}.
+ * Typing the username prewarms the vault view, so it is built by the time
+ * the login succeeds.
+ * 
+ * @author JohnLesterDev
+ */
+public class AuthenticationView extends BaseView implements LoginForm {
+    private static final String WINDOW_ICON = "icons/favicons/android-chrome-192x192.png";
+    private static final String CLOSE_OUTLINE_ICON = "icons/ui/buttons/X/outline.png";
+    private static final String CLOSE_SOLID_ICON = "icons/ui/buttons/X/solid.png";
+
+    private static final EffectManager.EasingFunction HOVER_EASING = EffectManager.cubicBezier(0.21f,0.29f,0.0f,1.0f);
+
     private SLabel closeButton;
+    private JTextField usernameField;
+    private JPasswordField passwordField;
+    private JButton loginButton;
+    private JButton registerButton;
+    private JLabel messageLabel;
 
     public AuthenticationView(JFrame frame) {
         super(frame); 
     }
+
+    /**
+     * Decodes the images of this view, so that constructing it later does
+     * not have to. Safe to call from any thread.
+     */
+    public static void preloadResources() {
+        ResourceUtils.getImage(WINDOW_ICON);
+        ResourceUtils.getImage(CLOSE_OUTLINE_ICON);
+        ResourceUtils.getImage(CLOSE_SOLID_ICON);
+    }
     
     @Override
     protected void initWindow() {
-        setWindowIcon("icons/favicons/android-chrome-192x192.png");
+        setWindowIcon(WINDOW_ICON);
 
         //TODO print
         System.out.println(String.format(
@@ -53,14 +93,17 @@ public class AuthenticationView extends BaseView {
             )
         );
 
-        frame.setUndecorated(true);
+        // Decorations can only be changed before the window is first shown.
+        if (!frame.isDisplayable()) {
+            frame.setUndecorated(true);
+        }
     }
 
     @Override
     protected void initView() {
         // Load your icons (replace with actual paths)
-        Image outlineIcon = new ImageIcon(ResourceUtils.getResourceFile("icons/ui/buttons/X/outline.png")).getImage();
-        Image solidIcon = new ImageIcon(ResourceUtils.getResourceFile("icons/ui/buttons/X/solid.png")).getImage();
+        Image outlineIcon = ResourceUtils.getImage(CLOSE_OUTLINE_ICON);
+        Image solidIcon = ResourceUtils.getImage(CLOSE_SOLID_ICON);
 
 
         int x = (int) (getDimension().width * 0.866);
@@ -70,32 +113,128 @@ public class AuthenticationView extends BaseView {
         
         closeButton = new ComponentBuilder<SLabel>(new SLabel(outlineIcon, solidIcon))
             .setBounds(x, y, width, height)
-            .setIcon(new ImageIcon(outlineIcon))
             .get();
 
+        closeButton.setHoverAnimation(850, 90f, HOVER_EASING);
+
         closeButton.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseEntered(MouseEvent e) {
-                closeButton.transitionIcons(
-                    850, 
-                    EffectManager.cubicBezier(0.21f,0.29f,0.0f,1.0f)
-                );
-
-                closeButton.transitionRotations(90f, 850, EffectManager.cubicBezier(0.21f,0.29f,0.0f,1.0f));
+                closeButton.hoverIn();
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
-                closeButton.transitionIcons(
-                    850, 
-                    EffectManager.cubicBezier(0.21f,0.29f,0.0f,1.0f)
-                );
-
-                closeButton.transitionRotations(-90f, 850, EffectManager.cubicBezier(0.21f,0.29f,0.0f,1.0f));
+                closeButton.hoverOut();
             }
         });
 
         add(closeButton);
+
+        initForm();
+    }
+
+    private void initForm() {
+        int width = getDimension().width;
+        int height = getDimension().height;
+        int left = (int) (width * 0.15);
+        int formWidth = (int) (width * 0.7);
+        int rowHeight = (int) (height * 0.07);
+
+        add(new ComponentBuilder<JLabel>(new JLabel("Username"))
+            .setBounds(left, (int) (height * 0.22), formWidth, rowHeight)
+            .get());
+        usernameField = new ComponentBuilder<JTextField>(new JTextField())
+            .setBounds(left, (int) (height * 0.29), formWidth, rowHeight)
+            .get();
+        add(usernameField);
+        usernameField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                usernameField.getDocument().removeDocumentListener(this);
+                ViewManager.prewarm(App.VAULT_VIEW);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        add(new ComponentBuilder<JLabel>(new JLabel("Master password"))
+            .setBounds(left, (int) (height * 0.38), formWidth, rowHeight)
+            .get());
+        passwordField = new ComponentBuilder<JPasswordField>(new JPasswordField())
+            .setBounds(left, (int) (height * 0.45), formWidth, rowHeight)
+            .get();
+        add(passwordField);
+
+        int buttonWidth = (int) (formWidth * 0.47);
+        loginButton = new ComponentBuilder<JButton>(new JButton("Login"))
+            .setBounds(left, (int) (height * 0.57), buttonWidth, rowHeight)
+            .get();
+        registerButton = new ComponentBuilder<JButton>(new JButton("Register"))
+            .setBounds(left + formWidth - buttonWidth, (int) (height * 0.57), buttonWidth, rowHeight)
+            .get();
+        add(loginButton);
+        add(registerButton);
+
+        messageLabel = new ComponentBuilder<JLabel>(new JLabel(""))
+            .setForeground(Color.RED)
+            .setBounds(left, (int) (height * 0.67), formWidth, rowHeight)
+            .get();
+        add(messageLabel);
+    }
+
+    @Override
+    public String getUsername() {
+        return usernameField.getText();
+    }
+
+    @Override
+    public SecretArena.Secret getPassword() {
+        char[] password = passwordField.getPassword();
+        passwordField.setText("");
+        try {
+            return SecretArena.getInstance().allocate(password);
+        } finally {
+            Arrays.fill(password, '\0');
+        }
+    }
+
+    @Override
+    public void showSuccessMessage(String message) {
+        messageLabel.setText(message);
+        messageLabel.setForeground(Color.GREEN);
+    }
+
+    @Override
+    public void showErrorMessage(String message) {
+        messageLabel.setText(message);
+        messageLabel.setForeground(Color.RED);
+    }
+
+    @Override
+    public void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+    }
+
+    /**
+     * Also called when Enter is pressed in the password field.
+     */
+    @Override
+    public void addLoginButtonListener(ActionListener listener) {
+        loginButton.addActionListener(listener);
+        passwordField.addActionListener(listener);
+    }
+
+    @Override
+    public void addRegisterButtonListener(ActionListener listener) {
+        registerButton.addActionListener(listener);
     }
     
 
@@ -26,7 +26,6 @@ import dev.johnlester.seraphim.utils.MonitorUtils;
 import dev.johnlester.seraphim.utils.ResourceUtils;
 
 import java.awt.*;
-import java.net.URL;
 
 /**
  * This abstract class provides a common interface for all views in the application.
@@ -39,18 +38,35 @@ public abstract class BaseView extends JPanel {
     protected JFrame frame;
     protected Dimension dimension;
 
+    /**
+     * Builds the view for the given window. The window itself is only set up
+     * by initWindow() once the view is shown, so views can be built ahead of
+     * time. The frame may be null to build the view offscreen, e.g. to render
+     * it headlessly.
+     * 
+     * @param frame The window the view is shown in, or null.
+     */
     public BaseView(JFrame frame) {
         this.frame = frame;
 
         convertDimensionPercentage(defineWidthScale(), defineHeightScale());
         setPreferredSize(dimension);
         setLayout(defineLayoutManager());
-        initWindow();
         initView();
-        refreshView();
     }
 
 
+    /**
+     * Applies the window settings of this view. Called by the ViewManager
+     * every time the view becomes the content of the window.
+     */
+    public void onShow() {
+        if (frame == null) return;
+
+        initWindow();
+        refreshView();
+    }
+
     protected abstract void initView();
     protected abstract void initWindow();
     protected abstract float defineWidthScale();
@@ -75,16 +91,24 @@ public abstract class BaseView extends JPanel {
     }
 
     public void setWindowIcon(String path) {
-        URL resourceUrl = ResourceUtils.getResourceFile(path);
-        frame.setIconImage(new ImageIcon(resourceUrl).getImage());
+        frame.setIconImage(ResourceUtils.getImage(path));
     }
 
     public void refreshView() {
+        if (frame == null) return;
+
         frame.revalidate();
         frame.repaint();
     }
 
 
+    /**
+     * Called by the ViewManager when it drops this view from its cache.
+     * Views holding resources beyond Swing release them here.
+     */
+    public void onEvict() {
+    }
+
     public void resetView() {
         // For clearing or resetting fields, buttons, etc.
     }
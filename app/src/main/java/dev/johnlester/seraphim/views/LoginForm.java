@@ -0,0 +1,55 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.views;
+
+import java.awt.event.ActionListener;
+
+import dev.johnlester.seraphim.utils.SecretArena;
+
+
+/**
+ * A form asking for a username and a master password, driven by a
+ * {@link dev.johnlester.seraphim.controllers.PasswordManagerController}.
+ * Every method is called on the EDT.
+ * 
+ * @author JohnLesterDev
+ */
+public interface LoginForm {
+    String getUsername();
+
+    /**
+     * Returns the typed password, moved into the {@link SecretArena} without
+     * a String copy, and clears the field. The caller must close it.
+     */
+    SecretArena.Secret getPassword();
+
+    void showSuccessMessage(String message);
+
+    void showErrorMessage(String message);
+
+    /**
+     * Disables the buttons while a login or registration is checked.
+     */
+    void setBusy(boolean busy);
+
+    void addLoginButtonListener(ActionListener listener);
+
+    void addRegisterButtonListener(ActionListener listener);
+}
@@ -23,8 +23,11 @@ package dev.johnlester.seraphim.views;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
 
-public class PasswordManagerView extends JFrame {
+import dev.johnlester.seraphim.utils.SecretArena;
+
+public class PasswordManagerView extends JFrame implements LoginForm {
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JButton loginButton;
@@ -67,8 +70,15 @@ public class PasswordManagerView extends JFrame {
         return usernameField.getText();
     }
 
-    public String getPassword() {
-        return new String(passwordField.getPassword());
+    @Override
+    public SecretArena.Secret getPassword() {
+        char[] password = passwordField.getPassword();
+        passwordField.setText("");
+        try {
+            return SecretArena.getInstance().allocate(password);
+        } finally {
+            Arrays.fill(password, '\0');
+        }
     }
 
     // Show success/error messages
@@ -82,6 +92,12 @@ public class PasswordManagerView extends JFrame {
         messageLabel.setForeground(Color.RED);
     }
 
+    @Override
+    public void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+    }
+
     // Add listeners for buttons
     public void addLoginButtonListener(ActionListener listener) {
         loginButton.addActionListener(listener);
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.views;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+
+import javax.swing.AbstractAction;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import dev.johnlester.seraphim.controllers.QuickSwitcherController;
+import dev.johnlester.seraphim.utils.search.FuzzyIndex.Match;
+
+
+/**
+ * A popup for jumping to an entry with the keyboard: type part of a title
+ * or host, move with the arrow keys, choose with Enter, close with Escape.
+ * 
+ * @author JohnLesterDev
+ */
+public class QuickSwitcher extends JDialog {
+    private static final int VISIBLE_ROWS = 12;
+
+    private final QuickSwitcherController controller;
+    private final JTextField queryField = new JTextField();
+    private final DefaultListModel<Match> matches = new DefaultListModel<>();
+    private final JList<Match> matchList = new JList<>(matches);
+
+    public QuickSwitcher(Window owner, QuickSwitcherController controller) {
+        super(owner);
+        this.controller = controller;
+
+        setUndecorated(true);
+        setModalityType(ModalityType.MODELESS);
+
+        matchList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        matchList.setFocusable(false);
+        matchList.setVisibleRowCount(VISIBLE_ROWS);
+        matchList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                Match match = (Match) value;
+                String text = match.secondary().isEmpty()
+                    ? match.title()
+                    : match.title() + "  \u2014  " + match.secondary();
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        matchList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    chooseSelected();
+                }
+            }
+        });
+
+        queryField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                search();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                search();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not change the query.
+            }
+        });
+
+        bindKey(KeyEvent.VK_ESCAPE, "close", this::close);
+        bindKey(KeyEvent.VK_ENTER, "choose", this::chooseSelected);
+        bindKey(KeyEvent.VK_DOWN, "next", () -> moveSelection(1));
+        bindKey(KeyEvent.VK_UP, "previous", () -> moveSelection(-1));
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                close();
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(matchList);
+        setLayout(new BorderLayout());
+        add(queryField, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Shows the popup near the top of its window with an empty query.
+     */
+    public void open() {
+        queryField.setText("");
+        matches.clear();
+
+        Window owner = getOwner();
+        int width = owner == null ? 480 : Math.max(320, owner.getWidth() / 2);
+        setSize(new Dimension(width, getPreferredSize().height));
+        if (owner != null) {
+            setLocation(owner.getX() + (owner.getWidth() - width) / 2, owner.getY() + owner.getHeight() / 8);
+        }
+
+        setVisible(true);
+        queryField.requestFocusInWindow();
+    }
+
+    private void search() {
+        controller.search(queryField.getText(), this::showMatches);
+    }
+
+    private void showMatches(List<Match> results) {
+        matches.clear();
+        matches.addAll(results);
+        if (!results.isEmpty()) {
+            matchList.setSelectedIndex(0);
+        }
+    }
+
+    private void moveSelection(int delta) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        int index = Math.floorMod(matchList.getSelectedIndex() + delta, matches.size());
+        matchList.setSelectedIndex(index);
+        matchList.ensureIndexIsVisible(index);
+    }
+
+    private void chooseSelected() {
+        Match match = matchList.getSelectedValue();
+        close();
+        if (match != null) {
+            controller.choose(match);
+        }
+    }
+
+    private void close() {
+        setVisible(false);
+    }
+
+    private void bindKey(int keyCode, String name, Runnable action) {
+        JComponent content = getRootPane();
+        content.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+        content.getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                action.run();
+            }
+        });
+    }
+}
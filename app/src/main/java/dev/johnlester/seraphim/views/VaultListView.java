@@ -0,0 +1,388 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.views;
+
+import java.awt.BorderLayout;
+import java.awt.LayoutManager2;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.JViewport;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
+
+import dev.johnlester.seraphim.controllers.QuickSwitcherController;
+import dev.johnlester.seraphim.controllers.VaultSearchController;
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel.SortKey;
+import dev.johnlester.seraphim.models.VaultSecrets;
+
+
+/**
+ * The list of credentials of the logged in user.
+ * 
+ * The table is backed by a {@link VaultTableModel}, which reads the vault
+ * page by page, so it stays responsive for vaults of any size. Sorting is
+ * done by the database on indexed columns; a table row sorter would read
+ * every row. Typing in the search field replaces the table contents with
+ * the results of a {@link VaultSearchController}. Ctrl+P (Cmd+P on macOS)
+ * opens the {@link QuickSwitcher} of a {@link QuickSwitcherController}.
+ * Ctrl+C on a row copies its password, which is only decrypted then.
+ * Ctrl+L locks the vault: the view lets go of the vault and its secrets,
+ * as it does when the ViewManager evicts it.
+ * 
+ * @author JohnLesterDev
+ */
+public class VaultListView extends BaseView {
+    private static final int ROW_HEIGHT = 24;
+
+    private JTable table;
+    private JTextField searchField;
+    private VaultTableModel model;
+    private VaultSearchController search;
+    private QuickSwitcherController quickSwitcher;
+    private VaultSecrets secrets;
+    private Runnable lockAction;
+
+    /**
+     * The entry to select once a search result shows it, or -1.
+     */
+    private long pendingSelectionId = -1;
+    private final TableModelListener pendingSelectionListener = e -> selectPendingEntry();
+
+    public VaultListView(JFrame frame) {
+        super(frame);
+    }
+
+    @Override
+    protected void initView() {
+        table = new JTable();
+        table.setRowHeight(ROW_HEIGHT);
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setAutoCreateRowSorter(false);
+
+        JTableHeader header = table.getTableHeader();
+        header.setReorderingAllowed(false);
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    toggleSort(table.convertColumnIndexToModel(column));
+                }
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        // Scrolling copies the pixels already painted and only paints the
+        // rows that scrolled into view.
+        scrollPane.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT);
+
+        searchField = new JTextField();
+        searchField.setToolTipText("Search titles, usernames, URLs and tags");
+
+        add(searchField, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+
+        KeyStroke quickSwitch = KeyStroke.getKeyStroke(KeyEvent.VK_P,
+            Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx());
+        getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(quickSwitch, "quickSwitch");
+        getActionMap().put("quickSwitch", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (quickSwitcher != null) {
+                    quickSwitcher.open();
+                }
+            }
+        });
+
+        KeyStroke lock = KeyStroke.getKeyStroke(KeyEvent.VK_L,
+            Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx());
+        getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(lock, "lock");
+        getActionMap().put("lock", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                lock();
+                if (lockAction != null) {
+                    lockAction.run();
+                }
+            }
+        });
+
+        KeyStroke copy = KeyStroke.getKeyStroke(KeyEvent.VK_C,
+            Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx());
+        table.getInputMap(JComponent.WHEN_FOCUSED).put(copy, "copySecret");
+        table.getActionMap().put("copySecret", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                copySelectedSecret();
+            }
+        });
+    }
+
+    @Override
+    protected void initWindow() {
+        // The window keeps the settings of the previous view.
+    }
+
+    /**
+     * Shows the vault of a user without its secrets, replacing the one shown
+     * before.
+     *
+     * @param ownerId the id of the user
+     */
+    public void showVault(long ownerId) {
+        showVault(ownerId, null);
+    }
+
+    /**
+     * Shows an unlocked vault, replacing the one shown before. The view
+     * closes the secrets when another vault is shown.
+     *
+     * @param ownerId the id of the user
+     * @param secrets the secrets of the vault, or null to show it locked
+     */
+    public void showVault(long ownerId, VaultSecrets secrets) {
+        if (this.secrets != secrets) {
+            closeSecrets();
+        }
+        this.secrets = secrets;
+        release();
+
+        model = new VaultTableModel(ownerId);
+        search = new VaultSearchController(this, ownerId);
+        quickSwitcher = new QuickSwitcherController(this, ownerId);
+        table.setModel(model);
+        updateSortIndicator();
+        model.refresh();
+    }
+
+    /**
+     * Closes the shown vault and its secrets.
+     */
+    public void lock() {
+        closeSecrets();
+        release();
+        table.setModel(new DefaultTableModel());
+    }
+
+    /**
+     * Sets what runs after the user locked the vault with Ctrl+L, e.g.
+     * showing the login again.
+     */
+    public void setLockAction(Runnable lockAction) {
+        this.lockAction = lockAction;
+    }
+
+    @Override
+    public void onEvict() {
+        lock();
+    }
+
+    private void closeSecrets() {
+        if (secrets != null) {
+            secrets.close();
+            secrets = null;
+        }
+    }
+
+    /**
+     * Stops the models and controllers of the shown vault.
+     */
+    private void release() {
+        if (model != null) {
+            model.dispose();
+            model = null;
+        }
+        if (search != null) {
+            search.dispose();
+            search = null;
+        }
+        if (quickSwitcher != null) {
+            quickSwitcher.dispose();
+            quickSwitcher = null;
+        }
+        searchField.setText("");
+    }
+
+    /**
+     * Shows the results of a search instead of the whole vault.
+     */
+    public void showSearchResults(VaultSearchModel results) {
+        // A new search replaces the one an entry was chosen from.
+        pendingSelectionId = -1;
+        results.removeTableModelListener(pendingSelectionListener);
+        results.addTableModelListener(pendingSelectionListener);
+        if (table.getModel() != results) {
+            table.setModel(results);
+            table.getTableHeader().setEnabled(false);
+        }
+    }
+
+    /**
+     * Shows the whole vault again after a search was cleared.
+     */
+    public void showAllEntries() {
+        pendingSelectionId = -1;
+        if (model != null && table.getModel() != model) {
+            table.setModel(model);
+            table.getTableHeader().setEnabled(true);
+            updateSortIndicator();
+        }
+    }
+
+    public JTextField getSearchField() {
+        return searchField;
+    }
+
+    /**
+     * Reads the vault again, e.g. after entries were added.
+     */
+    public void refreshVault() {
+        if (model != null) {
+            model.refresh();
+        }
+    }
+
+    /**
+     * Returns the selected entry, or null if nothing is selected or its row
+     * is still being read.
+     */
+    public VaultEntry getSelectedEntry() {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            return null;
+        }
+        if (table.getModel() instanceof VaultSearchModel results) {
+            return results.getEntry(row);
+        }
+        return model == null ? null : model.getEntry(row);
+    }
+
+    /**
+     * Copies the password of the selected entry to the clipboard.
+     */
+    private void copySelectedSecret() {
+        VaultEntry entry = getSelectedEntry();
+        if (entry == null || secrets == null) {
+            return;
+        }
+
+        char[] secret = secrets.reveal(entry.id());
+        if (secret == null) {
+            return;
+        }
+        try {
+            Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(new String(secret)), null);
+        } finally {
+            Arrays.fill(secret, '\0');
+        }
+    }
+
+    public JTable getTable() {
+        return table;
+    }
+
+    /**
+     * Selects an entry of the search results, now or as soon as the running
+     * search finds it.
+     *
+     * @param id the id of the entry
+     */
+    public void selectEntry(long id) {
+        pendingSelectionId = id;
+        selectPendingEntry();
+    }
+
+    private void selectPendingEntry() {
+        if (pendingSelectionId < 0 || !(table.getModel() instanceof VaultSearchModel results)) {
+            return;
+        }
+
+        for (int row = 0; row < results.getRowCount(); row++) {
+            if (results.getEntry(row).id() == pendingSelectionId) {
+                pendingSelectionId = -1;
+                table.setRowSelectionInterval(row, row);
+                table.scrollRectToVisible(table.getCellRect(row, 0, true));
+                return;
+            }
+        }
+    }
+
+    private void toggleSort(int column) {
+        if (model == null || table.getModel() != model) {
+            return;
+        }
+
+        SortKey key = model.getSortKey(column);
+        if (key == null) {
+            return;
+        }
+
+        boolean descending = key == model.getSortKey() && !model.isDescending();
+        model.sortBy(key, descending);
+        updateSortIndicator();
+    }
+
+    private void updateSortIndicator() {
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            TableColumn column = table.getColumnModel().getColumn(i);
+            int modelIndex = column.getModelIndex();
+            String name = model.getColumnName(modelIndex);
+            if (model.getSortKey(modelIndex) == model.getSortKey()) {
+                name += model.isDescending() ? " \u25BC" : " \u25B2";
+            }
+            column.setHeaderValue(name);
+        }
+        table.getTableHeader().repaint();
+    }
+
+    @Override
+    protected float defineWidthScale() {
+        return 0.9f;
+    }
+
+    @Override
+    protected float defineHeightScale() {
+        return 0.7f;
+    }
+
+    @Override
+    protected LayoutManager2 defineLayoutManager() {
+        return new BorderLayout();
+    }
+}
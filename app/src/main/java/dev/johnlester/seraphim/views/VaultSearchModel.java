@@ -0,0 +1,87 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.views;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import dev.johnlester.seraphim.models.VaultEntry;
+
+
+/**
+ * The results of a search, filled in batches while the search runs.
+ * 
+ * All methods must be called on the EDT.
+ * 
+ * @author JohnLesterDev
+ */
+public class VaultSearchModel extends AbstractTableModel {
+    private final List<VaultEntry> results = new ArrayList<>();
+
+    @Override
+    public int getRowCount() {
+        return results.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return VaultTableModel.COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return VaultTableModel.COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return VaultTableModel.columnValue(getEntry(row), column);
+    }
+
+    public VaultEntry getEntry(int row) {
+        return row >= 0 && row < results.size() ? results.get(row) : null;
+    }
+
+    /**
+     * Appends a batch of results. Only the inserted rows are repainted.
+     */
+    public void append(List<VaultEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int first = results.size();
+        results.addAll(batch);
+        fireTableRowsInserted(first, results.size() - 1);
+    }
+
+    /**
+     * Removes every result, before the results of a new query arrive.
+     */
+    public void clear() {
+        if (results.isEmpty()) {
+            return;
+        }
+        int last = results.size() - 1;
+        results.clear();
+        fireTableRowsDeleted(0, last);
+    }
+}
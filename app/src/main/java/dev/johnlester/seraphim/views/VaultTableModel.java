@@ -0,0 +1,363 @@
+/*
+ * This file is part of Seraphim - Universal Secure Vault Overseer.
+ * 
+ * Seraphim is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Seraphim is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Seraphim.  If not, see <https://www.gnu.org/licenses/>.
+ * 
+ * Copyright (C) 2025 JohnLesterDev
+ */
+
+package dev.johnlester.seraphim.views;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import dev.johnlester.seraphim.models.VaultEntry;
+import dev.johnlester.seraphim.models.VaultEntryModel;
+import dev.johnlester.seraphim.models.VaultEntryModel.PageKey;
+import dev.johnlester.seraphim.models.VaultEntryModel.SortKey;
+
+
+/**
+ * A table model over the vault of one user that never holds the whole vault.
+ * 
+ * Rows are read in pages of {@link #PAGE_SIZE} on a background thread, using
+ * keyset pagination: the key of the first row of every page is read once per
+ * order, so any page is a single index range scan. The table only asks for
+ * the rows it paints; a row whose page is not loaded yet is empty until the
+ * page arrives. Recently used pages and their neighbours are kept in an LRU
+ * cache. The row count and the pages are separate reads, so a page can come
+ * back short when rows were deleted in between; its missing rows are empty
+ * and the model refreshes itself.
+ * 
+ * All methods must be called on the EDT.
+ * 
+ * @author JohnLesterDev
+ */
+public class VaultTableModel extends AbstractTableModel {
+    public static final int PAGE_SIZE = 256;
+
+    /**
+     * Pages kept in memory, about 8k rows.
+     */
+    private static final int MAX_CACHED_PAGES = 32;
+
+    /**
+     * Pages waiting to be read. When scrolling quickly the oldest requests
+     * are dropped; the table asks again if they become visible.
+     */
+    private static final int MAX_PENDING_PAGES = 8;
+
+    static final String[] COLUMN_NAMES = { "Title", "Username", "URL", "Tags" };
+    private static final SortKey[] COLUMN_SORT_KEYS = { SortKey.TITLE, SortKey.USERNAME, SortKey.URL, null };
+
+    private final long ownerId;
+    private final VaultEntryModel model = VaultEntryModel.getInstance();
+    private final ExecutorService loader;
+
+    private final Map<Integer, VaultEntry[]> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, VaultEntry[]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> requested = new HashSet<>();
+    private final Deque<PageRequest> pending = new ArrayDeque<>();
+
+    private SortKey sortKey = SortKey.TITLE;
+    private boolean descending;
+
+    /**
+     * Incremented whenever the order or the contents change, so pages read
+     * for an earlier state are discarded. Written on the EDT only.
+     */
+    private volatile int generation;
+    private int rowCount;
+    private List<PageKey> pageKeys = List.of();
+    private boolean loading;
+    private boolean refreshScheduled;
+
+    private long hits;
+    private long misses;
+
+    public VaultTableModel(long ownerId) {
+        this.ownerId = ownerId;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seraphim-vault-pages");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columnValue(getEntry(row), column);
+    }
+
+    /**
+     * Returns the value shown in a column for an entry, or null if the entry
+     * is not loaded.
+     */
+    static Object columnValue(VaultEntry entry, int column) {
+        if (entry == null) {
+            return null;
+        }
+        return switch (column) {
+            case 0 -> entry.title();
+            case 1 -> entry.username();
+            case 2 -> entry.url();
+            case 3 -> entry.tags();
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the entry of a row, or null if its page is still being read.
+     * Reading the neighbouring pages is started ahead of time.
+     *
+     * @param row the row index
+     * @return the entry without its secret, or null
+     */
+    public VaultEntry getEntry(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+
+        int page = row / PAGE_SIZE;
+        VaultEntry[] entries = pages.get(page);
+        if (entries == null) {
+            misses++;
+            request(page);
+        } else {
+            hits++;
+        }
+        prefetch(page - 1);
+        prefetch(page + 1);
+
+        if (entries == null) {
+            return null;
+        }
+        int offset = row % PAGE_SIZE;
+        if (offset >= entries.length) {
+            // The page is shorter than the row count promised: rows were
+            // deleted in between, e.g. by the CLI in another process.
+            scheduleRefresh();
+            return null;
+        }
+        return entries[offset];
+    }
+
+    /**
+     * Returns whether the first page of the current order is still being
+     * read, e.g. to show a loading indicator.
+     */
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Returns the share of row lookups answered from the page cache.
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+
+    /**
+     * Returns the order of a column, or null if it cannot be sorted.
+     */
+    public SortKey getSortKey(int column) {
+        return COLUMN_SORT_KEYS[column];
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Changes the order and reads the vault again.
+     */
+    public void sortBy(SortKey sortKey, boolean descending) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        refresh();
+    }
+
+    /**
+     * Drops every cached page and reads the row count and the page keys of
+     * the current order again, e.g. after entries were added.
+     */
+    public void refresh() {
+        refreshScheduled = false;
+        int current = ++generation;
+        pages.clear();
+        requested.clear();
+        synchronized (pending) {
+            pending.clear();
+        }
+        loading = true;
+
+        SortKey key = sortKey;
+        boolean reversed = descending;
+        loader.execute(() -> {
+            int count;
+            List<PageKey> keys;
+            try {
+                count = model.countEntries(ownerId);
+                keys = model.pageKeys(ownerId, key, reversed, PAGE_SIZE);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                count = 0;
+                keys = List.of();
+            }
+
+            int rows = count;
+            List<PageKey> starts = keys;
+
+            SwingUtilities.invokeLater(() -> {
+                if (current != generation) {
+                    return;
+                }
+                rowCount = rows;
+                pageKeys = starts;
+                loading = false;
+                fireTableDataChanged();
+            });
+        });
+    }
+
+    /**
+     * Stops the loader thread. The model is unusable afterwards.
+     */
+    public void dispose() {
+        generation++;
+        loader.shutdownNow();
+        pages.clear();
+    }
+
+
+    /**
+     * Refreshes after the current event, since the table may be painting.
+     */
+    private void scheduleRefresh() {
+        if (refreshScheduled) {
+            return;
+        }
+        refreshScheduled = true;
+        int current = generation;
+        SwingUtilities.invokeLater(() -> {
+            if (current == generation) {
+                refresh();
+            }
+        });
+    }
+
+    private void prefetch(int page) {
+        if (page >= 0 && page < pageKeys.size() && !pages.containsKey(page)) {
+            request(page);
+        }
+    }
+
+    private void request(int page) {
+        if (page >= pageKeys.size() || !requested.add(page)) {
+            return;
+        }
+
+        PageRequest dropped = null;
+        synchronized (pending) {
+            pending.addLast(new PageRequest(generation, page, sortKey, descending, pageKeys.get(page)));
+            if (pending.size() > MAX_PENDING_PAGES) {
+                dropped = pending.removeFirst();
+            }
+        }
+        if (dropped != null) {
+            requested.remove(dropped.page());
+        }
+        loader.execute(this::readNextPage);
+    }
+
+    /**
+     * Reads the most recently requested page, which is the one closest to
+     * where the user is looking.
+     */
+    private void readNextPage() {
+        PageRequest request;
+        synchronized (pending) {
+            request = pending.pollLast();
+        }
+        if (request == null || request.generation() != generation) {
+            return;
+        }
+
+        VaultEntry[] entries;
+        try {
+            entries = model.readPage(ownerId, request.sortKey(), request.descending(), request.start(), PAGE_SIZE)
+                .toArray(new VaultEntry[0]);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            // Forget the request so the page is asked for again.
+            SwingUtilities.invokeLater(() -> requested.remove(request.page()));
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            if (request.generation() != generation) {
+                return;
+            }
+            int page = request.page();
+            requested.remove(page);
+            pages.put(page, entries);
+
+            int first = page * PAGE_SIZE;
+            int last = Math.min(rowCount, first + entries.length) - 1;
+            if (last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        });
+    }
+
+
+    private record PageRequest(int generation, int page, SortKey sortKey, boolean descending, PageKey start) {
+    }
+}